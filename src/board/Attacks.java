@@ -0,0 +1,278 @@
+package board;
+
+import navigation.Direction;
+
+public abstract class Attacks {
+
+	/*
+	 * attack sets of all kinds of pieces as bitboards
+	 * all tables are calculated once at class load
+	 *
+	 * lines (Rook, Bishop, Queen) use magic bitboards: the pieces standing on the relevant squares of a line
+	 * are multiplied by a magic number, the highest bits of the product are the index of the attack set
+	 */
+
+	private static final long[] knight = new long[64];				//knight jumps per square
+	private static final long[] king = new long[64];				//king steps per square
+	private static final long[][] pawn = new long[2][64];			//pawn attacks per side and square
+	private static final long[][] ray = new long[Direction.values().length][64];	//empty board lines per direction and square
+	private static final long[][] between = new long[64][64];		//squares strictly between two squares on a line
+	private static final long[][] line = new long[64][64];			//whole board line through two squares
+
+	private static final Direction[] rookDirections = {Direction.North, Direction.East, Direction.South, Direction.West};
+	private static final Direction[] bishopDirections = {Direction.NorthEast, Direction.SouthEast, Direction.SouthWest, Direction.NorthWest};
+
+	private static final Magic[] rookMagic = new Magic[64];			//rook lookup per square
+	private static final Magic[] bishopMagic = new Magic[64];		//bishop lookup per square
+
+	//magic numbers found by Magic's search, stored so it needn't run at every start
+	private static final long[] rookNumbers = {
+		0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+		0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+		0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+		0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+		0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+		0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+		0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+		0x0442000A00049020L, 0x2100040080020080L, 0x0800120400900148L, 0x0010040A00128541L,
+		0x2800804000800030L, 0x1010002000400041L, 0x4000200011004100L, 0x0610008410800800L,
+		0x0400802402800800L, 0xC100020080800400L, 0x0002000802000401L, 0x0182085882000401L,
+		0x0220204000808000L, 0x2860100040024022L, 0x0001002004110040L, 0x99101042000A0020L,
+		0x0004080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+		0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+		0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+		0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+		0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L
+	};
+	private static final long[] bishopNumbers = {
+		0xA010041108003100L, 0x006082020A002900L, 0x6810010619200000L, 0x08281A0520000408L,
+		0x0001104001000400L, 0x0018901008048400L, 0x00040A0210245280L, 0x000200210808A402L,
+		0x9140048410821200L, 0x0800091010820041L, 0x20504804832202C0L, 0x0100091401081000L,
+		0x8021011140000012L, 0x0810020804450400L, 0x208B0542109008A2L, 0x0080084A08040204L,
+		0x0040E2A80811244CL, 0x2505022008008108L, 0x0430220100420040L, 0x010A040420220040L,
+		0x1105000290400000L, 0x0093001200822120L, 0x4000A62048043004L, 0x280120048A015004L,
+		0x006090002A020814L, 0x44042000240800D0L, 0x01102800040A4400L, 0x1004080080220040L,
+		0x0001001011004024L, 0x0010044000805040L, 0x0914041200820100L, 0x0004821012821480L,
+		0x0024040500C05021L, 0x0088611002080200L, 0x0116080A00040020L, 0x4000020080080080L,
+		0x2450450140840040L, 0x0000880201484100L, 0x0222020404020092L, 0x8081110600002E00L,
+		0x2842101105000801L, 0x1100809008001025L, 0x00020202221C0400L, 0x0422014022009020L,
+		0x0210046102100C00L, 0xC004008082029102L, 0x00AA461801101200L, 0x0404080080201108L,
+		0x020542108C205002L, 0x0410544804100100L, 0x0040910841100000L, 0x0400200042021100L,
+		0x00004204850400C0L, 0x0200100410A42102L, 0x1040020801210102L, 0x0805040410420000L,
+		0x2884804130100200L, 0x800C262201242000L, 0x1058000194108800L, 0x0014221054420204L,
+		0x0104000012A02200L, 0x0200881003300100L, 0x0140400202840100L, 0x0402020801010201L
+	};
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			for (Direction direction : Direction.values()) {
+				if (Math.abs(direction.x) + Math.abs(direction.y) == 3) {
+					knight[square] |= step(square, direction);
+				} else {
+					king[square] |= step(square, direction);
+					ray[direction.ordinal()][square] = slide(square, 0, new Direction[] {direction});
+				}
+			}
+			pawn[Board.WHITE][square] = step(square, Direction.NorthEast) | step(square, Direction.NorthWest);
+			pawn[Board.BLACK][square] = step(square, Direction.SouthEast) | step(square, Direction.SouthWest);
+		}
+
+		for (int square = 0; square < 64; square++) {
+			for (Direction direction : rookDirections) {
+				connect(square, direction);
+			}
+			for (Direction direction : bishopDirections) {
+				connect(square, direction);
+			}
+		}
+
+		Random random = new Random();
+		for (int square = 0; square < 64; square++) {
+			rookMagic[square] = new Magic(square, rookDirections, rookNumbers[square], random);
+			bishopMagic[square] = new Magic(square, bishopDirections, bishopNumbers[square], random);
+		}
+	}
+
+	//getter
+	public static long knight(int square) {
+		return knight[square];
+	}
+
+	//getter
+	public static long king(int square) {
+		return king[square];
+	}
+
+	//squares attacked by a pawn of given side
+	public static long pawn(int side, int square) {
+		return pawn[side][square];
+	}
+
+	//squares attacked by a rook, stopping at the first occupied square of each line
+	public static long rook(int square, long occupied) {
+		return rookMagic[square].get(occupied);
+	}
+
+	//squares attacked by a bishop, stopping at the first occupied square of each line
+	public static long bishop(int square, long occupied) {
+		return bishopMagic[square].get(occupied);
+	}
+
+	//squares attacked by a queen
+	public static long queen(int square, long occupied) {
+		return rook(square, occupied) | bishop(square, occupied);
+	}
+
+	//all squares of an empty board in given direction, excluding the start
+	public static long ray(int square, Direction direction) {
+		return ray[direction.ordinal()][square];
+	}
+
+	//squares between two squares, empty if they don't share a line
+	public static long between(int square, int other) {
+		return between[square][other];
+	}
+
+	//full line through both squares, empty if they don't share a line
+	public static long line(int square, int other) {
+		return line[square][other];
+	}
+
+	//fill between and line for all squares in given direction
+	private static void connect(int square, Direction direction) {
+		long full = ray(square, direction) | Bitboard.bit(square) | ray(square, Direction.get(-direction.x, -direction.y));
+		long passed = 0;
+		long targets = ray(square, direction);
+		int x = Bitboard.getX(square) + direction.x;
+		int y = Bitboard.getY(square) + direction.y;
+		while (targets != 0) {
+			int target = Bitboard.square(x, y);
+			between[square][target] = passed;
+			line[square][target] = full;
+			passed |= Bitboard.bit(target);
+			targets &= ~Bitboard.bit(target);
+			x += direction.x;
+			y += direction.y;
+		}
+	}
+
+	//walk along lines until the board ends or a piece is hit
+	private static long slide(int square, long occupied, Direction[] directions) {
+		long attacks = 0;
+		for (Direction direction : directions) {
+			int x = Bitboard.getX(square) + direction.x;
+			int y = Bitboard.getY(square) + direction.y;
+			while (Bitboard.withinBorders(x, y)) {
+				long bit = Bitboard.bit(Bitboard.square(x, y));
+				attacks |= bit;
+				if ((occupied & bit) != 0) break;
+				x += direction.x;
+				y += direction.y;
+			}
+		}
+		return attacks;
+	}
+
+	//single step into given direction, empty if outside of the board
+	private static long step(int square, Direction direction) {
+		int x = Bitboard.getX(square) + direction.x;
+		int y = Bitboard.getY(square) + direction.y;
+		return Bitboard.withinBorders(x, y)? Bitboard.bit(Bitboard.square(x, y)) : 0;
+	}
+
+	/*
+	 * lookup table of one line moving piece on one square
+	 */
+	private static class Magic {
+
+		private final long mask;			//relevant squares, the board's edge never blocks
+		private final long magic;			//multiplier mapping every occupancy of mask to an index
+		private final int shift;			//64 - index bits
+		private final long[] attacks;		//attack set per index
+
+		//Constructor, uses the known magic number or searches one without collisions
+		Magic(int square, Direction[] directions, long known, Random random) {
+			mask = relevantSquares(square, directions);
+			shift = 64 - Bitboard.count(mask);
+
+			int size = 1 << Bitboard.count(mask);
+			long[] occupancies = new long[size];
+			long[] references = new long[size];
+			int i = 0;
+			long subset = 0;
+			do {
+				occupancies[i] = subset;
+				references[i] = slide(square, subset, directions);
+				i++;
+				subset = (subset - mask) & mask;	//next subset of mask
+			} while (subset != 0);
+
+			attacks = new long[size];
+			int[] used = new int[size];
+			int attempt = 1;
+			long candidate = known;
+			while (!fits(candidate, occupancies, references, used, attempt++)) {
+				candidate = random.sparse();
+			}
+			magic = candidate;
+		}
+
+		//get attack set
+		long get(long occupied) {
+			return attacks[(int) (((occupied & mask) * magic) >>> shift)];
+		}
+
+		//fills attacks if the candidate maps all occupancies without destructive collisions
+		//used marks the indices already filled by this attempt
+		private boolean fits(long candidate, long[] occupancies, long[] references, int[] used, int attempt) {
+			if (Bitboard.count((mask * candidate) & 0xFF00000000000000L) < 6) return false;
+
+			for (int i = 0; i < occupancies.length; i++) {
+				int index = (int) ((occupancies[i] * candidate) >>> shift);
+				if (used[index] != attempt) {
+					used[index] = attempt;
+					attacks[index] = references[i];
+				} else if (attacks[index] != references[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		//lines without the last square before the edge
+		private static long relevantSquares(int square, Direction[] directions) {
+			long squares = 0;
+			for (Direction direction : directions) {
+				int x = Bitboard.getX(square) + direction.x;
+				int y = Bitboard.getY(square) + direction.y;
+				while (Bitboard.withinBorders(x + direction.x, y + direction.y)) {
+					squares |= Bitboard.bit(Bitboard.square(x, y));
+					x += direction.x;
+					y += direction.y;
+				}
+			}
+			return squares;
+		}
+	}
+
+	/*
+	 * xorshift generator with fixed seed, so the tables are the same on every start
+	 */
+	private static class Random {
+
+		private long state = 0x9E3779B97F4A7C15L;
+
+		//next random number
+		long next() {
+			state ^= state >>> 12;
+			state ^= state << 25;
+			state ^= state >>> 27;
+			return state * 0x2545F4914F6CDD1DL;
+		}
+
+		//random number with few bits set, good magic candidates
+		long sparse() {
+			return next() & next() & next();
+		}
+	}
+}
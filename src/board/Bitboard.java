@@ -0,0 +1,59 @@
+package board;
+
+public abstract class Bitboard {
+
+	/*
+	 * a bitboard is a long in which every bit stands for one square of the chess board
+	 * squares are indexed like in Grid: index = x + (8 * y), so a1 is bit 0 and h8 is bit 63
+	 */
+
+	//files and ranks
+	public static final long FILE_A = 0x0101010101010101L;
+	public static final long FILE_B = FILE_A << 1;
+	public static final long FILE_G = FILE_A << 6;
+	public static final long FILE_H = FILE_A << 7;
+	public static final long RANK_1 = 0xFFL;
+	public static final long RANK_2 = RANK_1 << 8;
+	public static final long RANK_7 = RANK_1 << 48;
+	public static final long RANK_8 = RANK_1 << 56;
+
+	//conversion
+	public static int square(int x, int y) {return x + (8 * y);}
+	public static int getX(int square) {return square & 7;}
+	public static int getY(int square) {return square >>> 3;}
+
+	//is inside the board?
+	public static boolean withinBorders(int x, int y) {
+		return x >= 0 && x < 8 && y >= 0 && y < 8;
+	}
+
+	//get single bit of a square
+	public static long bit(int square) {
+		return 1L << square;
+	}
+
+	//is square part of the set?
+	public static boolean contains(long set, int square) {
+		return (set & bit(square)) != 0;
+	}
+
+	//get lowest square of a set (64 if empty)
+	public static int first(long set) {
+		return Long.numberOfTrailingZeros(set);
+	}
+
+	//get number of squares in a set
+	public static int count(long set) {
+		return Long.bitCount(set);
+	}
+
+	//get identification code of a square, same as Position.code
+	public static String code(int square) {
+		return (char) ('a' + getX(square)) + Integer.toString(getY(square) + 1);
+	}
+
+	//get square by identification code
+	public static int square(String code) {
+		return square(code.charAt(0) - 'a', code.charAt(1) - '1');
+	}
+}
@@ -0,0 +1,470 @@
+package board;
+
+import java.util.Arrays;
+
+public class Board {
+
+	/*
+	 * bitboard model of a chess position
+	 * this is the source of truth of a running Game, Positions and Pieces only display it
+	 *
+	 * sides and piece types are numbered like the ordinals of Player and Piece.Type
+	 * a piece is stored as side * 6 + type
+	 */
+
+	//sides
+	public static final int WHITE = 0, BLACK = 1;
+
+	//piece types
+	public static final int KING = 0, QUEEN = 1, ROOK = 2, KNIGHT = 3, BISHOP = 4, PAWN = 5;
+	public static final int EMPTY = -1;
+
+	//castling rights
+	public static final int WHITE_SHORT = 1, WHITE_LONG = 2, BLACK_SHORT = 4, BLACK_LONG = 8;
+	public static final int NO_SQUARE = -1;
+
+	//castling rights kept when a piece leaves or enters a square
+	private static final int[] castlingMask = new int[64];
+
+	static {
+		for (int i = 0; i < 64; i++) castlingMask[i] = 15;
+		castlingMask[Bitboard.square(0, 0)] &= ~WHITE_LONG;
+		castlingMask[Bitboard.square(7, 0)] &= ~WHITE_SHORT;
+		castlingMask[Bitboard.square(4, 0)] &= ~(WHITE_SHORT | WHITE_LONG);
+		castlingMask[Bitboard.square(0, 7)] &= ~BLACK_LONG;
+		castlingMask[Bitboard.square(7, 7)] &= ~BLACK_SHORT;
+		castlingMask[Bitboard.square(4, 7)] &= ~(BLACK_SHORT | BLACK_LONG);
+	}
+
+	//piece code
+	public static int piece(int side, int type) {return side * 6 + type;}
+	public static int sideOf(int piece) {return piece / 6;}
+	public static int typeOf(int piece) {return piece % 6;}
+
+	private final long[][] pieces;		//squares per side and type
+	private final long[] occupancy;		//squares per side
+	private long occupied;				//squares of both sides
+	private final int[] mailbox;		//piece per square
+	private final int[] middlegame;		//middlegame values of the pieces per side (see PieceSquareTable)
+	private final int[] endgame;		//endgame values of the pieces per side
+	private int phase;					//phase of the game by the pieces left
+	private int side;					//side to move
+	private int castling;				//castling rights left
+	private int enPassant;				//square a pawn has just skipped or NO_SQUARE
+	private int halfmoveClock;			//moves since the last capture or pawn move
+	private long key;					//Zobrist key of the position
+	private long pawnKey;				//Zobrist key of the Pawns only
+	private int[] undo;					//castling, en passant and clock before each made move
+	private long[] keys;				//key before each made move
+	private int height;					//number of made moves that can be unmade
+
+	//Constructor for the starting formation
+	public Board() {
+		pieces = new long[2][6];
+		occupancy = new long[2];
+		mailbox = new int[64];
+		middlegame = new int[2];
+		endgame = new int[2];
+		undo = new int[256];
+		keys = new long[256];
+		clear();
+
+		int[] rear = {ROOK, KNIGHT, BISHOP, QUEEN, KING, BISHOP, KNIGHT, ROOK};
+		for (int x = 0; x < 8; x++) {
+			put(piece(WHITE, rear[x]), Bitboard.square(x, 0));
+			put(piece(WHITE, PAWN), Bitboard.square(x, 1));
+			put(piece(BLACK, PAWN), Bitboard.square(x, 6));
+			put(piece(BLACK, rear[x]), Bitboard.square(x, 7));
+		}
+		castling = WHITE_SHORT | WHITE_LONG | BLACK_SHORT | BLACK_LONG;
+		key = computeKey();
+	}
+
+	/*
+	 * Constructor for a position in Forsyth-Edwards Notation, e.g.
+	 * rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1
+	 * missing fields after the piece placement get default values
+	 */
+	public Board(String fen) {
+		pieces = new long[2][6];
+		occupancy = new long[2];
+		mailbox = new int[64];
+		middlegame = new int[2];
+		endgame = new int[2];
+		undo = new int[256];
+		keys = new long[256];
+		clear();
+
+		String[] fields = fen.trim().split("\\s+");
+		int x = 0, y = 7;
+		for (char c : fields[0].toCharArray()) {
+			if (c == '/') {
+				x = 0;
+				y--;
+			} else if (Character.isDigit(c)) {
+				x += c - '0';
+			} else {
+				int type = "kqrnbp".indexOf(Character.toLowerCase(c));
+				if (type < 0 || !Bitboard.withinBorders(x, y)) {
+					throw new IllegalArgumentException("invalid piece placement: " + fields[0]);
+				}
+				put(piece(Character.isUpperCase(c)? WHITE : BLACK, type), Bitboard.square(x, y));
+				x++;
+			}
+		}
+		if (Bitboard.count(pieces[WHITE][KING]) != 1 || Bitboard.count(pieces[BLACK][KING]) != 1) {
+			throw new IllegalArgumentException("each side needs one king: " + fields[0]);
+		}
+
+		side = fields.length > 1 && fields[1].equals("b")? BLACK : WHITE;
+		if (fields.length > 2) {
+			for (char c : fields[2].toCharArray()) {
+				switch(c) {
+				case 'K':		castling |= WHITE_SHORT;
+								break;
+				case 'Q':		castling |= WHITE_LONG;
+								break;
+				case 'k':		castling |= BLACK_SHORT;
+								break;
+				case 'q':		castling |= BLACK_LONG;
+								break;
+				}
+			}
+		}
+		if (fields.length > 3 && !fields[3].equals("-")) {
+			enPassant = Bitboard.square(fields[3]);
+		}
+		if (fields.length > 4) {
+			halfmoveClock = Integer.parseInt(fields[4]);
+		}
+		key = computeKey();
+	}
+
+	//copy Constructor
+	public Board(Board board) {
+		pieces = new long[2][];
+		pieces[WHITE] = board.pieces[WHITE].clone();
+		pieces[BLACK] = board.pieces[BLACK].clone();
+		occupancy = board.occupancy.clone();
+		occupied = board.occupied;
+		mailbox = board.mailbox.clone();
+		middlegame = board.middlegame.clone();
+		endgame = board.endgame.clone();
+		phase = board.phase;
+		side = board.side;
+		castling = board.castling;
+		enPassant = board.enPassant;
+		halfmoveClock = board.halfmoveClock;
+		key = board.key;
+		pawnKey = board.pawnKey;
+		undo = board.undo.clone();
+		keys = board.keys.clone();
+		height = board.height;
+	}
+
+	//take over the position of another board, with the moves that can be unmade
+	public void copy(Board board) {
+		for (int s = 0; s < 2; s++) {
+			System.arraycopy(board.pieces[s], 0, pieces[s], 0, 6);
+			occupancy[s] = board.occupancy[s];
+			middlegame[s] = board.middlegame[s];
+			endgame[s] = board.endgame[s];
+		}
+		System.arraycopy(board.mailbox, 0, mailbox, 0, 64);
+		occupied = board.occupied;
+		phase = board.phase;
+		side = board.side;
+		castling = board.castling;
+		enPassant = board.enPassant;
+		halfmoveClock = board.halfmoveClock;
+		key = board.key;
+		pawnKey = board.pawnKey;
+		undo = board.undo.clone();
+		keys = board.keys.clone();
+		height = board.height;
+	}
+
+	//remove all pieces
+	private void clear() {
+		for (int i = 0; i < 64; i++) mailbox[i] = EMPTY;
+		for (int s = 0; s < 2; s++) {
+			for (int t = 0; t < 6; t++) pieces[s][t] = 0;
+			occupancy[s] = 0;
+			middlegame[s] = 0;
+			endgame[s] = 0;
+		}
+		occupied = 0;
+		phase = 0;
+		side = WHITE;
+		castling = 0;
+		enPassant = NO_SQUARE;
+		halfmoveClock = 0;
+		key = 0;
+		pawnKey = 0;
+		height = 0;
+	}
+
+	/*
+	 * executes a move (see Move) of the side to move and hands the turn to the opponent
+	 * everything needed to take it back is kept, so unmake(move) restores this position
+	 */
+	public void make(int move) {
+		push();
+		key ^= Zobrist.castling(castling) ^ enPassantKey();
+
+		int from = Move.getFrom(move);
+		int target = Move.getTarget(move);
+		int type = Move.getType(move);
+
+		halfmoveClock++;
+		if (Move.isCapture(move)) {
+			remove(Move.isEnPassant(move)? target - forward(side) : target);
+			halfmoveClock = 0;
+		}
+		remove(from);
+		put(piece(side, Move.isPromotion(move)? Move.getPromotion(move) : type), target);
+
+		if (type == PAWN) {
+			halfmoveClock = 0;
+		} else if (Move.isCastling(move)) {
+			shift(rookStart(move), rookTarget(move));
+		}
+
+		enPassant = Move.getFlag(move) == Move.DOUBLE_PUSH? from + forward(side) : NO_SQUARE;
+		castling &= castlingMask[from] & castlingMask[target];
+		side ^= 1;
+		key ^= Zobrist.castling(castling) ^ enPassantKey() ^ Zobrist.side();
+	}
+
+	//takes back the last made move, which must be the passed one
+	public void unmake(int move) {
+		side ^= 1;
+		int state = undo[--height];
+		castling = state & 15;
+		enPassant = ((state >>> 4) & 127) - 1;
+		halfmoveClock = state >>> 11;
+
+		int from = Move.getFrom(move);
+		int target = Move.getTarget(move);
+
+		if (Move.isCastling(move)) {
+			shift(rookTarget(move), rookStart(move));
+		}
+		remove(target);
+		put(piece(side, Move.getType(move)), from);
+
+		if (Move.isCapture(move)) {
+			put(piece(side ^ 1, Move.getCaptured(move)), Move.isEnPassant(move)? target - forward(side) : target);
+		}
+		key = keys[height];
+	}
+
+	/*
+	 * passes the turn without moving, for null move pruning of a search
+	 * only an en passant right is lost, unmakeNull() restores it
+	 */
+	public void makeNull() {
+		push();
+		key ^= enPassantKey() ^ Zobrist.side();
+		enPassant = NO_SQUARE;
+		halfmoveClock++;
+		side ^= 1;
+	}
+
+	//takes back the last makeNull()
+	public void unmakeNull() {
+		side ^= 1;
+		int state = undo[--height];
+		enPassant = ((state >>> 4) & 127) - 1;
+		halfmoveClock = state >>> 11;
+		key = keys[height];
+	}
+
+	//keep castling, en passant, clock and key before a move
+	private void push() {
+		if (height == undo.length) {
+			undo = Arrays.copyOf(undo, height * 2);
+			keys = Arrays.copyOf(keys, height * 2);
+		}
+		keys[height] = key;
+		undo[height++] = castling | ((enPassant + 1) << 4) | (halfmoveClock << 11);
+	}
+
+	//move piece to empty square
+	private void shift(int from, int target) {
+		int piece = mailbox[from];
+		remove(from);
+		put(piece, target);
+	}
+
+	//place piece on empty square
+	private void put(int piece, int square) {
+		long bit = Bitboard.bit(square);
+		pieces[sideOf(piece)][typeOf(piece)] |= bit;
+		occupancy[sideOf(piece)] |= bit;
+		occupied |= bit;
+		mailbox[square] = piece;
+		key ^= Zobrist.piece(piece, square);
+		if (typeOf(piece) == PAWN) pawnKey ^= Zobrist.piece(piece, square);
+		middlegame[sideOf(piece)] += PieceSquareTable.middlegame(piece, square);
+		endgame[sideOf(piece)] += PieceSquareTable.endgame(piece, square);
+		phase += PieceSquareTable.phase(piece);
+	}
+
+	//take piece from square
+	private void remove(int square) {
+		int piece = mailbox[square];
+		long bit = Bitboard.bit(square);
+		pieces[sideOf(piece)][typeOf(piece)] &= ~bit;
+		occupancy[sideOf(piece)] &= ~bit;
+		occupied &= ~bit;
+		mailbox[square] = EMPTY;
+		key ^= Zobrist.piece(piece, square);
+		if (typeOf(piece) == PAWN) pawnKey ^= Zobrist.piece(piece, square);
+		middlegame[sideOf(piece)] -= PieceSquareTable.middlegame(piece, square);
+		endgame[sideOf(piece)] -= PieceSquareTable.endgame(piece, square);
+		phase -= PieceSquareTable.phase(piece);
+	}
+
+	/*
+	 * computes the Zobrist key from scratch, make and unmake keep it up to date incrementally
+	 * the en passant square only counts when a pawn of the side to move could actually capture there,
+	 * so positions that only differ in an unusable en passant square get the same key
+	 */
+	public long computeKey() {
+		long key = 0;
+		for (int square = 0; square < 64; square++) {
+			if (mailbox[square] != EMPTY) key ^= Zobrist.piece(mailbox[square], square);
+		}
+		if (side == BLACK) key ^= Zobrist.side();
+		return key ^ Zobrist.castling(castling) ^ enPassantKey();
+	}
+
+	//key part of the en passant square, 0 if no pawn can capture there
+	private long enPassantKey() {
+		if (enPassant == NO_SQUARE || (Attacks.pawn(side ^ 1, enPassant) & pieces[side][PAWN]) == 0) return 0;
+		return Zobrist.enPassant(enPassant);
+	}
+
+	//has the position occurred before since the last capture or pawn move?
+	public boolean isRepetition() {
+		for (int i = height - 4; i >= 0 && i >= height - halfmoveClock; i -= 2) {
+			if (keys[i] == key) return true;
+		}
+		return false;
+	}
+
+	//is square attacked by any piece of given side?
+	public boolean isAttacked(int square, int by) {
+		return isAttacked(square, by, occupied);
+	}
+
+	//is square attacked by any piece of given side, lines blocked by the passed squares only?
+	public boolean isAttacked(int square, int by, long occupied) {
+		return (Attacks.pawn(by ^ 1, square) & pieces[by][PAWN]) != 0
+				|| (Attacks.knight(square) & pieces[by][KNIGHT]) != 0
+				|| (Attacks.king(square) & pieces[by][KING]) != 0
+				|| (Attacks.bishop(square, occupied) & (pieces[by][BISHOP] | pieces[by][QUEEN])) != 0
+				|| (Attacks.rook(square, occupied) & (pieces[by][ROOK] | pieces[by][QUEEN])) != 0;
+	}
+
+	//pieces of both sides attacking a square, lines blocked by the passed squares only
+	public long attackersTo(int square, long occupied) {
+		return (Attacks.pawn(BLACK, square) & pieces[WHITE][PAWN])
+				| (Attacks.pawn(WHITE, square) & pieces[BLACK][PAWN])
+				| (Attacks.knight(square) & (pieces[WHITE][KNIGHT] | pieces[BLACK][KNIGHT]))
+				| (Attacks.king(square) & (pieces[WHITE][KING] | pieces[BLACK][KING]))
+				| (Attacks.bishop(square, occupied) & (pieces[WHITE][BISHOP] | pieces[BLACK][BISHOP] | pieces[WHITE][QUEEN] | pieces[BLACK][QUEEN]))
+				| (Attacks.rook(square, occupied) & (pieces[WHITE][ROOK] | pieces[BLACK][ROOK] | pieces[WHITE][QUEEN] | pieces[BLACK][QUEEN]));
+	}
+
+	//is king of given side attacked?
+	public boolean isInCheck(int side) {
+		return isAttacked(getKingSquare(side), side ^ 1);
+	}
+
+	//getter
+	public long getPieces(int side, int type) {
+		return pieces[side][type];
+	}
+
+	//getter
+	public long getOccupancy(int side) {
+		return occupancy[side];
+	}
+
+	//getter
+	public long getOccupied() {
+		return occupied;
+	}
+
+	//get piece code on square or EMPTY
+	public int getPiece(int square) {
+		return mailbox[square];
+	}
+
+	//getter
+	public int getKingSquare(int side) {
+		return Bitboard.first(pieces[side][KING]);
+	}
+
+	//getter
+	public int getSide() {
+		return side;
+	}
+
+	//getter
+	public int getEnPassant() {
+		return enPassant;
+	}
+
+	//value of the side's pieces, blended by the phase of the game
+	public int getScore(int side) {
+		return PieceSquareTable.taper(middlegame[side], endgame[side], phase);
+	}
+
+	//getter
+	public int getPhase() {
+		return phase;
+	}
+
+	//getter
+	public long getKey() {
+		return key;
+	}
+
+	//getter
+	public long getPawnKey() {
+		return pawnKey;
+	}
+
+	//getter
+	public int getHalfmoveClock() {
+		return halfmoveClock;
+	}
+
+	//number of made moves that can be unmade
+	public int getHeight() {
+		return height;
+	}
+
+	//has this castling right left?
+	public boolean canCastle(int right) {
+		return (castling & right) != 0;
+	}
+
+	//square difference of one step forward
+	private static int forward(int side) {
+		return side == WHITE? 8 : -8;
+	}
+
+	//rook's square before castling
+	private static int rookStart(int move) {
+		return Move.getFlag(move) == Move.SHORT_CASTLING? Move.getTarget(move) + 1 : Move.getTarget(move) - 2;
+	}
+
+	//rook's square after castling
+	private static int rookTarget(int move) {
+		return Move.getFlag(move) == Move.SHORT_CASTLING? Move.getTarget(move) - 1 : Move.getTarget(move) + 1;
+	}
+}
@@ -0,0 +1,92 @@
+package board;
+
+public abstract class Move {
+
+	/*
+	 * a move is packed into one int, so move lists are plain int arrays
+	 *
+	 * bits  0- 5	start square
+	 * bits  6-11	target square
+	 * bits 12-15	flag (kind of move)
+	 * bits 16-18	type of the moved piece
+	 * bits 19-21	type of the captured piece
+	 *
+	 * the lower 16 bits alone identify a move in a position
+	 */
+
+	//no move
+	public static final int NONE = 0;
+
+	//flags
+	public static final int QUIET = 0;
+	public static final int DOUBLE_PUSH = 1;
+	public static final int SHORT_CASTLING = 2;
+	public static final int LONG_CASTLING = 3;
+	public static final int CAPTURE = 4;
+	public static final int EN_PASSANT = 5;
+	public static final int PROMOTION = 8;				//+ 0-3 for knight, bishop, rook, queen
+	public static final int CAPTURE_PROMOTION = 12;		//+ 0-3 for knight, bishop, rook, queen
+
+	//promotion piece types in flag order
+	private static final int[] promotionType = {Board.KNIGHT, Board.BISHOP, Board.ROOK, Board.QUEEN};
+
+	//create move
+	public static int create(int from, int target, int flag, int type, int captured) {
+		return from | (target << 6) | (flag << 12) | (type << 16) | ((captured & 7) << 19);
+	}
+
+	//create promotion of a pawn to given piece type
+	public static int createPromotion(int from, int target, int promotion, int captured) {
+		int flag = (captured == Board.EMPTY? PROMOTION : CAPTURE_PROMOTION) + promotionIndex(promotion);
+		return create(from, target, flag, Board.PAWN, captured);
+	}
+
+	//getter
+	public static int getFrom(int move) {return move & 63;}
+	public static int getTarget(int move) {return (move >>> 6) & 63;}
+	public static int getFlag(int move) {return (move >>> 12) & 15;}
+	public static int getType(int move) {return (move >>> 16) & 7;}
+
+	//getter, EMPTY if nothing is captured
+	public static int getCaptured(int move) {
+		return isCapture(move)? (move >>> 19) & 7 : Board.EMPTY;
+	}
+
+	//getter, EMPTY if no promotion
+	public static int getPromotion(int move) {
+		return isPromotion(move)? promotionType[getFlag(move) & 3] : Board.EMPTY;
+	}
+
+	//kind of move
+	public static boolean isCapture(int move) {return (getFlag(move) & CAPTURE) != 0;}
+	public static boolean isPromotion(int move) {return (getFlag(move) & PROMOTION) != 0;}
+	public static boolean isCastling(int move) {return getFlag(move) == SHORT_CASTLING || getFlag(move) == LONG_CASTLING;}
+	public static boolean isEnPassant(int move) {return getFlag(move) == EN_PASSANT;}
+
+	//neither capture nor promotion
+	public static boolean isQuiet(int move) {
+		return getFlag(move) < CAPTURE;
+	}
+
+	//lower 16 bits: start, target and flag
+	public static int getKey(int move) {
+		return move & 0xFFFF;
+	}
+
+	//long algebraic notation like e2e4 or e7e8q
+	public static String getString(int move) {
+		String string = Bitboard.code(getFrom(move)) + Bitboard.code(getTarget(move));
+		if (isPromotion(move)) {
+			string += "qrnb".charAt(getPromotion(move) - Board.QUEEN);
+		}
+		return string;
+	}
+
+	//position of a piece type in flag order
+	private static int promotionIndex(int type) {
+		for (int i = 0; i < promotionType.length; i++) {
+			if (promotionType[i] == type) return i;
+		}
+		return 3;
+	}
+}
@@ -0,0 +1,201 @@
+package board;
+
+public abstract class MoveGenerator {
+
+	/*
+	 * generates moves of the side to move as packed ints (see Move)
+	 * moves are written into an array owned by the caller, so generating doesn't create any objects
+	 *
+	 * generate() returns pseudo legal moves: they follow the pieces' rules, but might leave the own king in check
+	 */
+
+	public static final int MAX_MOVES = 256;		//more moves are never possible in one position
+
+	/*
+	 * writes all legal moves into moves, beginning at index, returns index behind the last move
+	 *
+	 * checking pieces and pinned pieces are found in one sweep from the king, then every move is filtered by masks:
+	 * the king may not enter attacked squares, in check other pieces must capture the checker or block its line,
+	 * pinned pieces must stay on the line of their pin
+	 * only en passant is tested by making it, a capture might uncover the king along the row
+	 */
+	public static int generateLegal(Board board, int[] moves, int index) {
+		int side = board.getSide();
+		int king = board.getKingSquare(side);
+		long own = board.getOccupancy(side);
+		long occupied = board.getOccupied();
+
+		long checkers = board.attackersTo(king, occupied) & board.getOccupancy(side ^ 1);
+		long evasion = -1L;
+		if (checkers != 0) {
+			evasion = Bitboard.count(checkers) > 1? 0 : checkers | Attacks.between(king, Bitboard.first(checkers));
+		}
+
+		long pinned = 0;
+		long snipers = (Attacks.rook(king, 0) & (board.getPieces(side ^ 1, Board.ROOK) | board.getPieces(side ^ 1, Board.QUEEN)))
+				| (Attacks.bishop(king, 0) & (board.getPieces(side ^ 1, Board.BISHOP) | board.getPieces(side ^ 1, Board.QUEEN)));
+		while (snipers != 0) {
+			int sniper = Bitboard.first(snipers);
+			snipers &= snipers - 1;
+			long blockers = Attacks.between(king, sniper) & occupied;
+			if (Bitboard.count(blockers) == 1) {
+				pinned |= blockers & own;
+			}
+		}
+
+		int end = generate(board, moves, index);
+		int legal = index;
+		for (int i = index; i < end; i++) {
+			int move = moves[i];
+			int from = Move.getFrom(move);
+			int target = Move.getTarget(move);
+
+			if (from == king) {
+				if (board.isAttacked(target, side ^ 1, occupied ^ Bitboard.bit(king))) continue;
+			} else if (Move.isEnPassant(move)) {
+				board.make(move);
+				boolean check = board.isInCheck(side);
+				board.unmake(move);
+				if (check) continue;
+			} else {
+				if ((evasion & Bitboard.bit(target)) == 0) continue;
+				if ((pinned & Bitboard.bit(from)) != 0 && (Attacks.line(king, from) & Bitboard.bit(target)) == 0) continue;
+			}
+			moves[legal++] = move;
+		}
+		return legal;
+	}
+
+	//find legal move by squares, a promotion without piece type becomes a queen (Move.NONE if illegal)
+	//moves is a buffer of MAX_MOVES ints owned by the caller
+	public static int find(Board board, int from, int target, int promotion, int[] moves) {
+		return select(moves, generateLegal(board, moves, 0), from, target, promotion);
+	}
+
+	//find a move by squares among size generated moves, a promotion without piece type becomes a queen (Move.NONE if none)
+	public static int select(int[] moves, int size, int from, int target, int promotion) {
+		for (int i = 0; i < size; i++) {
+			int move = moves[i];
+			if (Move.getFrom(move) == from && Move.getTarget(move) == target
+					&& Move.getPromotion(move) == (Move.isPromotion(move) && promotion == Board.EMPTY? Board.QUEEN : promotion)) {
+				return move;
+			}
+		}
+		return Move.NONE;
+	}
+
+	//writes all moves into moves, beginning at index, returns index behind the last move
+	public static int generate(Board board, int[] moves, int index) {
+		int side = board.getSide();
+		long own = board.getOccupancy(side);
+		long enemy = board.getOccupancy(side ^ 1);
+		long occupied = board.getOccupied();
+
+		index = generatePawnMoves(board, moves, index);
+
+		for (int type = Board.KING; type < Board.PAWN; type++) {
+			long set = board.getPieces(side, type);
+			while (set != 0) {
+				int from = Bitboard.first(set);
+				set &= set - 1;
+
+				long targets = attacks(type, from, occupied) & ~own;
+				while (targets != 0) {
+					int target = Bitboard.first(targets);
+					targets &= targets - 1;
+					if ((enemy & Bitboard.bit(target)) != 0) {
+						moves[index++] = Move.create(from, target, Move.CAPTURE, type, Board.typeOf(board.getPiece(target)));
+					} else {
+						moves[index++] = Move.create(from, target, Move.QUIET, type, Board.EMPTY);
+					}
+				}
+			}
+		}
+
+		return generateCastling(board, moves, index);
+	}
+
+	//squares attacked by piece type (no pawns) on a square
+	public static long attacks(int type, int square, long occupied) {
+		switch(type) {
+		case Board.KING:		return Attacks.king(square);
+		case Board.QUEEN:		return Attacks.queen(square, occupied);
+		case Board.ROOK:		return Attacks.rook(square, occupied);
+		case Board.KNIGHT:		return Attacks.knight(square);
+		default:				return Attacks.bishop(square, occupied);
+		}
+	}
+
+	//single and double pushes, captures, en passant, promotions
+	private static int generatePawnMoves(Board board, int[] moves, int index) {
+		int side = board.getSide();
+		int forward = side == Board.WHITE? 8 : -8;
+		long empty = ~board.getOccupied();
+		long enemy = board.getOccupancy(side ^ 1);
+		long startRow = side == Board.WHITE? Bitboard.RANK_2 : Bitboard.RANK_7;
+		long lastRow = side == Board.WHITE? Bitboard.RANK_8 : Bitboard.RANK_1;
+
+		long set = board.getPieces(side, Board.PAWN);
+		while (set != 0) {
+			int from = Bitboard.first(set);
+			set &= set - 1;
+
+			int target = from + forward;
+			if ((empty & Bitboard.bit(target)) != 0) {
+				if ((lastRow & Bitboard.bit(target)) != 0) {
+					index = addPromotions(moves, index, from, target, Board.EMPTY);
+				} else {
+					moves[index++] = Move.create(from, target, Move.QUIET, Board.PAWN, Board.EMPTY);
+					if ((startRow & Bitboard.bit(from)) != 0 && (empty & Bitboard.bit(target + forward)) != 0) {
+						moves[index++] = Move.create(from, target + forward, Move.DOUBLE_PUSH, Board.PAWN, Board.EMPTY);
+					}
+				}
+			}
+
+			long captures = Attacks.pawn(side, from) & enemy;
+			while (captures != 0) {
+				target = Bitboard.first(captures);
+				captures &= captures - 1;
+				int captured = Board.typeOf(board.getPiece(target));
+				if ((lastRow & Bitboard.bit(target)) != 0) {
+					index = addPromotions(moves, index, from, target, captured);
+				} else {
+					moves[index++] = Move.create(from, target, Move.CAPTURE, Board.PAWN, captured);
+				}
+			}
+
+			if (board.getEnPassant() != Board.NO_SQUARE && (Attacks.pawn(side, from) & Bitboard.bit(board.getEnPassant())) != 0) {
+				moves[index++] = Move.create(from, board.getEnPassant(), Move.EN_PASSANT, Board.PAWN, Board.PAWN);
+			}
+		}
+		return index;
+	}
+
+	//a pawn reaching the last row may become queen, rook, bishop or knight
+	private static int addPromotions(int[] moves, int index, int from, int target, int captured) {
+		moves[index++] = Move.createPromotion(from, target, Board.QUEEN, captured);
+		moves[index++] = Move.createPromotion(from, target, Board.ROOK, captured);
+		moves[index++] = Move.createPromotion(from, target, Board.BISHOP, captured);
+		moves[index++] = Move.createPromotion(from, target, Board.KNIGHT, captured);
+		return index;
+	}
+
+	//king and rook on their start squares, nothing between them, king doesn't start, pass or arrive in check
+	private static int generateCastling(Board board, int[] moves, int index) {
+		int side = board.getSide();
+		int king = side == Board.WHITE? 4 : 60;
+		long occupied = board.getOccupied();
+
+		if (board.canCastle(side == Board.WHITE? Board.WHITE_SHORT : Board.BLACK_SHORT)
+				&& (occupied & (Bitboard.bit(king + 1) | Bitboard.bit(king + 2))) == 0
+				&& !board.isAttacked(king, side ^ 1) && !board.isAttacked(king + 1, side ^ 1) && !board.isAttacked(king + 2, side ^ 1)) {
+			moves[index++] = Move.create(king, king + 2, Move.SHORT_CASTLING, Board.KING, Board.EMPTY);
+		}
+		if (board.canCastle(side == Board.WHITE? Board.WHITE_LONG : Board.BLACK_LONG)
+				&& (occupied & (Bitboard.bit(king - 1) | Bitboard.bit(king - 2) | Bitboard.bit(king - 3))) == 0
+				&& !board.isAttacked(king, side ^ 1) && !board.isAttacked(king - 1, side ^ 1) && !board.isAttacked(king - 2, side ^ 1)) {
+			moves[index++] = Move.create(king, king - 2, Move.LONG_CASTLING, Board.KING, Board.EMPTY);
+		}
+		return index;
+	}
+}
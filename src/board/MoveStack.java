@@ -0,0 +1,52 @@
+package board;
+
+public class MoveStack {
+
+	/*
+	 * preallocated move lists for a search, one slice of MAX_MOVES ints per ply
+	 * generating into a slice overwrites the moves stored there before, nothing is allocated after construction
+	 */
+
+	private final int[] moves;		//all slices
+	private final int[] size;		//number of moves per ply
+
+	//Constructor
+	public MoveStack(int maxPly) {
+		moves = new int[maxPly * MoveGenerator.MAX_MOVES];
+		size = new int[maxPly];
+	}
+
+	//generate moves of the board into the ply's slice, returns number of moves
+	public int generate(Board board, int ply) {
+		int start = ply * MoveGenerator.MAX_MOVES;
+		size[ply] = MoveGenerator.generate(board, moves, start) - start;
+		return size[ply];
+	}
+
+	//generate legal moves of the board into the ply's slice, returns number of moves
+	public int generateLegal(Board board, int ply) {
+		int start = ply * MoveGenerator.MAX_MOVES;
+		size[ply] = MoveGenerator.generateLegal(board, moves, start) - start;
+		return size[ply];
+	}
+
+	//getter
+	public int get(int ply, int i) {
+		return moves[ply * MoveGenerator.MAX_MOVES + i];
+	}
+
+	//setter, e.g. for sorting
+	public void set(int ply, int i, int move) {
+		moves[ply * MoveGenerator.MAX_MOVES + i] = move;
+	}
+
+	//getter
+	public int size(int ply) {
+		return size[ply];
+	}
+
+	//number of plies
+	public int getMaxPly() {
+		return size.length;
+	}
+}
@@ -0,0 +1,157 @@
+package board;
+
+public abstract class PieceSquareTable {
+
+	/*
+	 * values of the pieces on each square, in hundredths of a Pawn, material included
+	 * there are two sets: one for the middlegame and one for the endgame, when the King should walk to the center
+	 * and Pawns should run; the phase of the game (24 with all pieces, 0 with Kings and Pawns only) blends them
+	 *
+	 * the tables below are written from White's view with the eighth row first, Black's squares are mirrored
+	 */
+
+	public static final int MAX_PHASE = 24;
+
+	//material per piece type, the values of piece.Piece.Type are taken from here
+	private static final int[] material = {0, 900, 500, 320, 330, 100};
+	
+	//material added in the endgame per piece type
+	private static final int[] endgameMaterial = {0, 0, 20, -20, -10, 20};
+
+	//contribution to the phase per piece type
+	private static final int[] phase = {0, 4, 2, 1, 1, 0};
+
+	private static final int[] king = {
+		-30,-40,-40,-50,-50,-40,-40,-30,
+		-30,-40,-40,-50,-50,-40,-40,-30,
+		-30,-40,-40,-50,-50,-40,-40,-30,
+		-30,-40,-40,-50,-50,-40,-40,-30,
+		-20,-30,-30,-40,-40,-30,-30,-20,
+		-10,-20,-20,-20,-20,-20,-20,-10,
+		 20, 20,  0,  0,  0,  0, 20, 20,
+		 20, 30, 10,  0,  0, 10, 30, 20
+	};
+
+	private static final int[] kingEndgame = {
+		-50,-40,-30,-20,-20,-30,-40,-50,
+		-30,-20,-10,  0,  0,-10,-20,-30,
+		-30,-10, 20, 30, 30, 20,-10,-30,
+		-30,-10, 30, 40, 40, 30,-10,-30,
+		-30,-10, 30, 40, 40, 30,-10,-30,
+		-30,-10, 20, 30, 30, 20,-10,-30,
+		-30,-30,  0,  0,  0,  0,-30,-30,
+		-50,-30,-30,-30,-30,-30,-30,-50
+	};
+
+	private static final int[] queen = {
+		-20,-10,-10, -5, -5,-10,-10,-20,
+		-10,  0,  0,  0,  0,  0,  0,-10,
+		-10,  0,  5,  5,  5,  5,  0,-10,
+		 -5,  0,  5,  5,  5,  5,  0, -5,
+		  0,  0,  5,  5,  5,  5,  0, -5,
+		-10,  5,  5,  5,  5,  5,  0,-10,
+		-10,  0,  5,  0,  0,  0,  0,-10,
+		-20,-10,-10, -5, -5,-10,-10,-20
+	};
+
+	private static final int[] rook = {
+		  0,  0,  0,  0,  0,  0,  0,  0,
+		  5, 10, 10, 10, 10, 10, 10,  5,
+		 -5,  0,  0,  0,  0,  0,  0, -5,
+		 -5,  0,  0,  0,  0,  0,  0, -5,
+		 -5,  0,  0,  0,  0,  0,  0, -5,
+		 -5,  0,  0,  0,  0,  0,  0, -5,
+		 -5,  0,  0,  0,  0,  0,  0, -5,
+		  0,  0,  0,  5,  5,  0,  0,  0
+	};
+
+	private static final int[] knight = {
+		-50,-40,-30,-30,-30,-30,-40,-50,
+		-40,-20,  0,  0,  0,  0,-20,-40,
+		-30,  0, 10, 15, 15, 10,  0,-30,
+		-30,  5, 15, 20, 20, 15,  5,-30,
+		-30,  0, 15, 20, 20, 15,  0,-30,
+		-30,  5, 10, 15, 15, 10,  5,-30,
+		-40,-20,  0,  5,  5,  0,-20,-40,
+		-50,-40,-30,-30,-30,-30,-40,-50
+	};
+
+	private static final int[] bishop = {
+		-20,-10,-10,-10,-10,-10,-10,-20,
+		-10,  0,  0,  0,  0,  0,  0,-10,
+		-10,  0,  5, 10, 10,  5,  0,-10,
+		-10,  5,  5, 10, 10,  5,  5,-10,
+		-10,  0, 10, 10, 10, 10,  0,-10,
+		-10, 10, 10, 10, 10, 10, 10,-10,
+		-10,  5,  0,  0,  0,  0,  5,-10,
+		-20,-10,-10,-10,-10,-10,-10,-20
+	};
+
+	private static final int[] pawn = {
+		  0,  0,  0,  0,  0,  0,  0,  0,
+		 50, 50, 50, 50, 50, 50, 50, 50,
+		 10, 10, 20, 30, 30, 20, 10, 10,
+		  5,  5, 10, 25, 25, 10,  5,  5,
+		  0,  0,  0, 20, 20,  0,  0,  0,
+		  5, -5,-10,  0,  0,-10, -5,  5,
+		  5, 10, 10,-20,-20, 10, 10,  5,
+		  0,  0,  0,  0,  0,  0,  0,  0
+	};
+
+	private static final int[] pawnEndgame = {
+		  0,  0,  0,  0,  0,  0,  0,  0,
+		 80, 80, 80, 80, 80, 80, 80, 80,
+		 50, 50, 50, 50, 50, 50, 50, 50,
+		 30, 30, 30, 30, 30, 30, 30, 30,
+		 15, 15, 15, 15, 15, 15, 15, 15,
+		  5,  5,  5,  5,  5,  5,  5,  5,
+		  0,  0,  0,  0,  0,  0,  0,  0,
+		  0,  0,  0,  0,  0,  0,  0,  0
+	};
+
+	//values per piece code and square
+	private static final int[][] middlegame = new int[12][64];
+	private static final int[][] endgame = new int[12][64];
+
+	static {
+		int[][] middlegameTables = {king, queen, rook, knight, bishop, pawn};
+		int[][] endgameTables = {kingEndgame, queen, rook, knight, bishop, pawnEndgame};
+		for (int type = Board.KING; type <= Board.PAWN; type++) {
+			for (int square = 0; square < 64; square++) {
+				int x = Bitboard.getX(square), y = Bitboard.getY(square);
+				int white = (7 - y) * 8 + x;
+				int black = y * 8 + x;
+				middlegame[Board.piece(Board.WHITE, type)][square] = material[type] + middlegameTables[type][white];
+				middlegame[Board.piece(Board.BLACK, type)][square] = material[type] + middlegameTables[type][black];
+				endgame[Board.piece(Board.WHITE, type)][square] = material[type] + endgameMaterial[type] + endgameTables[type][white];
+				endgame[Board.piece(Board.BLACK, type)][square] = material[type] + endgameMaterial[type] + endgameTables[type][black];
+			}
+		}
+	}
+
+	//getter
+	public static int middlegame(int piece, int square) {
+		return middlegame[piece][square];
+	}
+
+	//getter
+	public static int endgame(int piece, int square) {
+		return endgame[piece][square];
+	}
+
+	//material of a piece type, the King is never traded
+	public static int material(int type) {
+		return material[type];
+	}
+
+	//getter
+	public static int phase(int piece) {
+		return phase[Board.typeOf(piece)];
+	}
+
+	//blend middlegame and endgame score by the phase
+	public static int taper(int middlegame, int endgame, int phase) {
+		phase = Math.min(phase, MAX_PHASE);
+		return (middlegame * phase + endgame * (MAX_PHASE - phase)) / MAX_PHASE;
+	}
+}
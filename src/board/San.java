@@ -0,0 +1,75 @@
+package board;
+
+public abstract class San {
+
+	/*
+	 * standard algebraic notation like Nbd7, exd5, e8=Q+ or O-O, as used in PGN files
+	 * a move is found among the legal moves of the position, so notation that is illegal or ambiguous there is rejected
+	 * check and mate signs and annotations like !? are ignored, castling may be written with zeros
+	 */
+
+	private static final String PIECES = "KQRNBP";		//letter per Board piece type
+
+	//legal move of the position written as SAN, Move.NONE if there is none or more than one
+	//moves is a buffer of MoveGenerator.MAX_MOVES ints owned by the caller
+	public static int parse(Board board, String san, int[] moves) {
+		int end = san.length();
+		while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) end--;
+		String text = san.substring(0, end);
+
+		int size = MoveGenerator.generateLegal(board, moves, 0);
+
+		if (text.equals("O-O") || text.equals("0-0") || text.equals("O-O-O") || text.equals("0-0-0")) {
+			int flag = text.length() == 3? Move.SHORT_CASTLING : Move.LONG_CASTLING;
+			for (int i = 0; i < size; i++) {
+				if (Move.getFlag(moves[i]) == flag) return moves[i];
+			}
+			return Move.NONE;
+		}
+
+		int promotion = Board.EMPTY;
+		if (text.length() > 2 && PIECES.indexOf(text.charAt(text.length() - 1)) > Board.KING) {
+			promotion = PIECES.indexOf(text.charAt(text.length() - 1));
+			text = text.substring(0, text.charAt(text.length() - 2) == '='? text.length() - 2 : text.length() - 1);
+		}
+		if (text.length() < 2) return Move.NONE;
+
+		int type = Board.PAWN;
+		int start = 0;
+		if (PIECES.indexOf(text.charAt(0)) >= 0) {
+			type = PIECES.indexOf(text.charAt(0));
+			start = 1;
+		}
+		int target = square(text.charAt(text.length() - 2), text.charAt(text.length() - 1));
+		if (target < 0) return Move.NONE;
+
+		int fromX = -1, fromY = -1;		//disambiguation, -1 if not given
+		for (int i = start; i < text.length() - 2; i++) {
+			char c = text.charAt(i);
+			if (c >= 'a' && c <= 'h') {
+				fromX = c - 'a';
+			} else if (c >= '1' && c <= '8') {
+				fromY = c - '1';
+			} else if (c != 'x' && c != ':' && c != '-') {
+				return Move.NONE;
+			}
+		}
+
+		int found = Move.NONE;
+		for (int i = 0; i < size; i++) {
+			int move = moves[i];
+			int from = Move.getFrom(move);
+			if (Move.getType(move) != type || Move.getTarget(move) != target || Move.getPromotion(move) != promotion) continue;
+			if (fromX >= 0 && Bitboard.getX(from) != fromX || fromY >= 0 && Bitboard.getY(from) != fromY) continue;
+			if (found != Move.NONE) return Move.NONE;		//ambiguous
+			found = move;
+		}
+		return found;
+	}
+
+	//square of file and rank characters, -1 if there is none
+	private static int square(char file, char rank) {
+		if (file < 'a' || file > 'h' || rank < '1' || rank > '8') return -1;
+		return Bitboard.square(file - 'a', rank - '1');
+	}
+}
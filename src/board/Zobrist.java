@@ -0,0 +1,58 @@
+package board;
+
+public abstract class Zobrist {
+
+	/*
+	 * random numbers identifying the parts of a position
+	 * the key of a position is the xor of the numbers of all its parts, so a move only changes the parts it touches
+	 */
+
+	private static final long[][] pieces = new long[12][64];		//per piece code and square
+	private static final long[] castling = new long[16];			//per set of castling rights
+	private static final long[] enPassant = new long[8];			//per file of an en passant square
+	private static final long side;									//black to move
+
+	static {
+		long state = 0x6A09E667F3BCC909L;	//fixed seed, keys are the same on every start
+		for (int piece = 0; piece < 12; piece++) {
+			for (int square = 0; square < 64; square++) {
+				pieces[piece][square] = state = next(state);
+			}
+		}
+		for (int i = 1; i < 16; i++) {
+			castling[i] = state = next(state);
+		}
+		for (int i = 0; i < 8; i++) {
+			enPassant[i] = state = next(state);
+		}
+		side = next(state);
+	}
+
+	//getter
+	public static long piece(int piece, int square) {
+		return pieces[piece][square];
+	}
+
+	//getter
+	public static long castling(int rights) {
+		return castling[rights];
+	}
+
+	//getter
+	public static long enPassant(int square) {
+		return enPassant[Bitboard.getX(square)];
+	}
+
+	//getter
+	public static long side() {
+		return side;
+	}
+
+	//splitmix step
+	private static long next(long state) {
+		long z = state + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -1,7 +1,10 @@
 package controller;
 
+import board.Board;
+import board.Move;
 import movement.MoveCommand;
 import movement.MovementPossibility;
+import piece.Piece;
 import player.Player;
 
 public abstract class Controller {
@@ -21,6 +24,10 @@ public abstract class Controller {
 	//this method is supposed to initialize the full process of a player's action.
 	public abstract void act();
 	
+	//release resources when the player gets another Controller
+	public void dispose() {
+	}
+	
 	//setter
 	public void setEnabled(boolean b) {
 		enabled = b;
@@ -39,4 +46,23 @@ public abstract class Controller {
 		}
 		return false;
 	}
+	
+	//executes a move of the Board (see board.Move) for the Controller's owner, promotions need no selection (may fail)
+	protected boolean execute(int move) {
+		if (!enabled) {
+			return false;
+		}
+		for (Piece piece : player.getPieces()) {
+			for (MovementPossibility possibility : piece.getLegalMoves()) {
+				if (Move.getFrom(possibility.move) == Move.getFrom(move) && Move.getTarget(possibility.move) == Move.getTarget(move)) {
+					if (!possibility.executableBy(player)) {
+						return false;
+					}
+					MoveCommand.execute(possibility, Move.isPromotion(move)? Move.getPromotion(move) : Board.EMPTY);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
 }
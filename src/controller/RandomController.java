@@ -23,10 +23,10 @@ public class RandomController extends Controller {
 		ArrayList<MovementPossibility> movementPossibilities;
 		
 		do {
-			movementPossibilities = player.getPieces().get((int) (Math.random() * player.getPieces().size() - 1)).getLegalMoves();
+			movementPossibilities = player.getPieces().get((int) (Math.random() * player.getPieces().size())).getLegalMoves();
 		} while (movementPossibilities.size() == 0);
 
-		if (execute(movementPossibilities.get((int) Math.random() * (movementPossibilities.size() - 1)))) {
+		if (execute(movementPossibilities.get((int) (Math.random() * movementPossibilities.size())))) {
 			setEnabled(false);
 			return;
 		} else {
@@ -0,0 +1,235 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import javax.swing.SwingUtilities;
+
+import board.Board;
+import board.Move;
+import board.MoveGenerator;
+import engine.Network;
+import engine.OpeningBook;
+import engine.ParallelSearch;
+import engine.TimeManager;
+import engine.TranspositionTable;
+import main.Game;
+import player.Clock;
+import player.Player;
+
+public class SearchController extends Controller {
+
+	/*
+	 * this subclass of Controller lets an alpha-beta Search choose the player's moves, with more threads a ParallelSearch
+	 * the search runs in its own thread on a copy of the Board, so the GUI keeps responding while the computer thinks;
+	 * the move is executed in the event dispatch thread, unless the game moved on in the meantime
+	 *
+	 * afterwards the controller ponders: it expects the reply stored in the TranspositionTable and searches on
+	 * the opponent's time as if it had been played; if it is played (ponderhit) that search goes on with the limits
+	 * of the move, else it is stopped and a new search begins, profiting from the table filled meanwhile
+	 * Java 17 has no virtual threads, searches run in platform daemon threads
+	 *
+	 * with the system property chess.network naming a weights file, a Network evaluates instead of Evaluation
+	 *
+	 * positions found in the OpeningBook (system property chess.book, data/book.bin by default) are played
+	 * from the book without searching
+	 */
+
+	public static final String DEFAULT_BOOK = "data/book.bin";
+
+	public static final int DEFAULT_DEPTH = 64;			//plies, in practice the time limits the search
+	public static final long DEFAULT_TIME = 1000;		//milliseconds per move without clock
+	public static final int DEFAULT_TABLE_SIZE = 32;	//megabytes
+
+	private final int depth;					//maximum depth per move
+	private final long time;					//maximum time per move without clock
+	private final TranspositionTable table;		//kept from move to move
+	private final ParallelSearch search;		//reused for every move
+	private final OpeningBook book;				//null without book file
+	private final int[] moves;					//buffer for finding moves, used in the event dispatch thread
+	private boolean ponder;						//think on the opponent's time?
+
+	//state of the running search, guarded by this
+	private Thread thread;						//running search or null
+	private TimeManager running;				//its limits
+	private long ponderKey;						//key of the pondered position, 0 if not pondering
+	private boolean ponderhit;					//the pondered position was reached
+	private int ponderResult;					//move of a pondering search finished before the ponderhit, else -1
+
+	//Constructor
+	public SearchController(Player player, int threads) {
+		this(player, threads, DEFAULT_DEPTH, DEFAULT_TIME, DEFAULT_TABLE_SIZE);
+	}
+
+	//Constructor
+	public SearchController(Player player, int threads, int depth, long time, int tableSize) {
+		super(player);
+		this.depth = depth;
+		this.time = time;
+		table = new TranspositionTable(tableSize);
+		search = new ParallelSearch(table, threads);
+		ponder = true;
+
+		String network = System.getProperty("chess.network");
+		if (network != null) {
+			try {
+				search.setNetwork(Network.load(Paths.get(network)));
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		moves = new int[MoveGenerator.MAX_MOVES];
+		book = openBook(Paths.get(System.getProperty("chess.book", DEFAULT_BOOK)));
+	}
+
+	//the book in the file, null if there is none
+	private static OpeningBook openBook(Path path) {
+		if (!Files.isRegularFile(path)) return null;
+		try {
+			return new OpeningBook(path);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	@Override
+	public void act() {
+		setEnabled(true);
+
+		Board board = new Board(Game.getBoard());
+		synchronized (this) {
+			if (thread != null && ponderKey == board.getKey()) {
+				ponderhit = true;
+				running.ponderhit(timeManager());
+				if (ponderResult >= 0) {
+					play(board, ponderResult);
+				}
+				return;
+			}
+		}
+		stopSearch();
+
+		int move = book != null? book.probe(board, moves) : Move.NONE;
+		if (move != Move.NONE) {
+			play(board, move);
+		} else {
+			startSearch(board, timeManager(), false);
+		}
+	}
+
+	//search the position in a new thread, the move is played when found unless pondering without ponderhit
+	private synchronized void startSearch(final Board board, final TimeManager time, final boolean pondering) {
+		running = time;
+		ponderKey = pondering? board.getKey() : 0;
+		ponderhit = false;
+		ponderResult = -1;
+		thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				int move = search.search(board, depth, time);
+				synchronized (SearchController.this) {
+					if (thread != Thread.currentThread()) return;		//stopped
+					if (pondering && !ponderhit) {
+						ponderResult = move;
+						return;
+					}
+					thread = null;
+				}
+				play(board, move);
+			}
+		}, (pondering? "Ponder " : "Search ") + player.name());
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	//stop the running search and wait for its thread
+	private void stopSearch() {
+		Thread stopped;
+		synchronized (this) {
+			stopped = thread;
+			thread = null;
+		}
+		while (stopped != null && stopped.isAlive()) {
+			search.stop();
+			try {
+				stopped.join(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	//execute the move found for the position in the event dispatch thread, then ponder
+	private void play(final Board board, final int move) {
+		SwingUtilities.invokeLater(new Runnable() {
+
+			@Override
+			public void run() {
+				synchronized (SearchController.this) {
+					thread = null;
+				}
+				if (Game.hasInstance() && Game.getBoard().getKey() == board.getKey() && player.isActive() && execute(move)) {
+					setEnabled(false);
+					startPondering();
+				}
+			}
+		});
+	}
+
+	//search the position after the expected reply, if there is one
+	private void startPondering() {
+		if (!ponder || !Game.hasInstance() || player.isActive()) return;
+
+		Board board = new Board(Game.getBoard());
+		int reply = TranspositionTable.getMove(table.probe(board.getKey()));
+		if (reply == Move.NONE) return;
+		reply = MoveGenerator.find(board, Move.getFrom(reply), Move.getTarget(reply), Move.isPromotion(reply)? Move.getPromotion(reply) : Board.EMPTY, moves);
+		if (reply == Move.NONE) return;
+
+		synchronized (this) {
+			if (thread != null) return;
+		}
+		board.make(reply);
+		startSearch(board, TimeManager.infinite(), true);
+	}
+
+	//setter, takes effect after the next move
+	public void setPonder(boolean ponder) {
+		this.ponder = ponder;
+	}
+
+	//time for the next move, planned by the player's clock if it has one
+	private TimeManager timeManager() {
+		if (!player.hasClock()) {
+			return TimeManager.fixed(time);
+		}
+		Clock clock = player.getClock();
+		return TimeManager.forClock(clock.getRemaining(), clock.getIncrement(), clock.getMovesToGo());
+	}
+
+	@Override
+	public void dispose() {
+		stopSearch();
+		search.shutdown();
+	}
+
+	//getter
+	public ParallelSearch getSearch() {
+		return search;
+	}
+
+	//getter, null without book
+	public OpeningBook getBook() {
+		return book;
+	}
+
+	//getter
+	public TranspositionTable getTable() {
+		return table;
+	}
+}
@@ -0,0 +1,107 @@
+package engine;
+
+import board.Board;
+import board.Move;
+
+public class Accumulator {
+
+	/*
+	 * first layer sums of a Network for both perspectives, one level per ply of a Search
+	 * push() is called before a move is made: it copies the sums to the next level and adds or subtracts the weight
+	 * columns of the pieces the move changes; pop() after unmaking it just returns to the level before
+	 */
+
+	private final Network network;
+	private final int[][][] values;		//per level, perspective and neuron
+	private int level;					//current level
+
+	//Constructor
+	public Accumulator(Network network, int maxPly) {
+		this.network = network;
+		values = new int[maxPly + 1][2][network.hidden];
+	}
+
+	//compute the sums of the position from scratch, at the first level
+	public void refresh(Board board) {
+		level = 0;
+		for (int perspective = Board.WHITE; perspective <= Board.BLACK; perspective++) {
+			int[] sums = values[0][perspective];
+			for (int i = 0; i < network.hidden; i++) {
+				sums[i] = network.featureBiases[i];
+			}
+			for (int square = 0; square < 64; square++) {
+				int piece = board.getPiece(square);
+				if (piece != Board.EMPTY) add(sums, Network.feature(perspective, piece, square));
+			}
+		}
+	}
+
+	//the move is about to be made on the board
+	public void push(Board board, int move) {
+		int side = board.getSide();
+		int from = Move.getFrom(move);
+		int target = Move.getTarget(move);
+		int moved = Board.piece(side, Move.getType(move));
+		int placed = Board.piece(side, Move.isPromotion(move)? Move.getPromotion(move) : Move.getType(move));
+
+		for (int perspective = Board.WHITE; perspective <= Board.BLACK; perspective++) {
+			int[] sums = values[level + 1][perspective];
+			System.arraycopy(values[level][perspective], 0, sums, 0, network.hidden);
+
+			subtract(sums, Network.feature(perspective, moved, from));
+			add(sums, Network.feature(perspective, placed, target));
+			if (Move.isCapture(move)) {
+				int square = Move.isEnPassant(move)? target + (side == Board.WHITE? -8 : 8) : target;
+				subtract(sums, Network.feature(perspective, Board.piece(side ^ 1, Move.getCaptured(move)), square));
+			}
+			if (Move.isCastling(move)) {
+				boolean isShort = Move.getFlag(move) == Move.SHORT_CASTLING;
+				int rook = Board.piece(side, Board.ROOK);
+				subtract(sums, Network.feature(perspective, rook, isShort? target + 1 : target - 2));
+				add(sums, Network.feature(perspective, rook, isShort? target - 1 : target + 1));
+			}
+		}
+		level++;
+	}
+
+	//a null move is about to be made, the pieces stay
+	public void pushNull() {
+		for (int perspective = Board.WHITE; perspective <= Board.BLACK; perspective++) {
+			System.arraycopy(values[level][perspective], 0, values[level + 1][perspective], 0, network.hidden);
+		}
+		level++;
+	}
+
+	//the last pushed move has been unmade
+	public void pop() {
+		level--;
+	}
+
+	//score of the current level for the side to move
+	public int evaluate(int side) {
+		return network.output(values[level][side], values[level][side ^ 1]);
+	}
+
+	//add the weight column of a feature
+	private void add(int[] sums, int feature) {
+		short[] weights = network.featureWeights;
+		int offset = feature * network.hidden;
+		for (int i = 0; i < network.hidden; i++) {
+			sums[i] += weights[offset + i];
+		}
+	}
+
+	//subtract the weight column of a feature
+	private void subtract(int[] sums, int feature) {
+		short[] weights = network.featureWeights;
+		int offset = feature * network.hidden;
+		for (int i = 0; i < network.hidden; i++) {
+			sums[i] -= weights[offset + i];
+		}
+	}
+
+	//getter
+	public Network getNetwork() {
+		return network;
+	}
+}
@@ -0,0 +1,65 @@
+package engine;
+
+import board.Bitboard;
+import board.Board;
+import board.PieceSquareTable;
+import piece.Piece;
+
+public abstract class Evaluation {
+
+	/*
+	 * static judgement of a position in hundredths of a Pawn, positive if good for the side to move
+	 * material and piece placement are kept up to date by the Board itself (see PieceSquareTable),
+	 * so evaluating a position costs no loop over its pieces
+	 *
+	 * the pawn structure comes from a PawnTable, a King is rewarded for Pawns sheltering it in the middlegame
+	 *
+	 * value() gives the plain Piece.Type value, used for exchanges and move ordering
+	 */
+
+	private static final int SHELTER = 10;		//per Pawn in front of the King
+
+	//squares of the two rows in front of a King on its own and the neighbouring files, per side and square
+	private static final long[][] shelterMask = new long[2][64];
+
+	//material per Board piece type
+	private static final int[] material = new int[6];
+
+	static {
+		for (Piece.Type type : Piece.Type.values()) {
+			material[type.ordinal()] = type.value;
+		}
+		for (int square = 0; square < 64; square++) {
+			int x = Bitboard.getX(square), y = Bitboard.getY(square);
+			for (int dx = -1; dx <= 1; dx++) {
+				for (int dy = 1; dy <= 2; dy++) {
+					if (Bitboard.withinBorders(x + dx, y + dy)) shelterMask[Board.WHITE][square] |= Bitboard.bit(Bitboard.square(x + dx, y + dy));
+					if (Bitboard.withinBorders(x + dx, y - dy)) shelterMask[Board.BLACK][square] |= Bitboard.bit(Bitboard.square(x + dx, y - dy));
+				}
+			}
+		}
+	}
+
+	//getter
+	public static int value(int type) {
+		return material[type];
+	}
+
+	//score of the position for the side to move, material and piece placement only
+	public static int evaluate(Board board) {
+		int side = board.getSide();
+		return board.getScore(side) - board.getScore(side ^ 1);
+	}
+
+	//score of the position for the side to move, with pawn structure and King shelter
+	public static int evaluate(Board board, PawnTable pawns) {
+		int score = pawns.evaluate(board) + shelter(board, Board.WHITE) - shelter(board, Board.BLACK);
+		return evaluate(board) + (board.getSide() == Board.WHITE? score : -score);
+	}
+
+	//bonus for the side's Pawns in front of its King, fading towards the endgame
+	private static int shelter(Board board, int side) {
+		long pawns = board.getPieces(side, Board.PAWN) & shelterMask[side][board.getKingSquare(side)];
+		return PieceSquareTable.taper(SHELTER * Bitboard.count(pawns), 0, board.getPhase());
+	}
+}
@@ -0,0 +1,77 @@
+package engine;
+
+import board.Attacks;
+import board.Bitboard;
+import board.Board;
+import board.Move;
+
+public abstract class Exchange {
+
+	/*
+	 * static exchange evaluation: the material a capture wins when both sides keep recapturing on its target,
+	 * each time with their least valuable attacker, and may stop whenever continuing would lose
+	 * attackers are found with Board.attackersTo, pieces behind a capturer join in as soon as it has left
+	 */
+
+	public static final int MAX_SWAPS = 32;		//length of a swap buffer
+
+	//piece types from least to most valuable attacker
+	private static final int[] order = {Board.PAWN, Board.KNIGHT, Board.BISHOP, Board.ROOK, Board.QUEEN, Board.KING};
+
+	//material won by the move for the side to move, 0 for quiet moves; gain is a buffer of MAX_SWAPS ints owned by the caller
+	public static int evaluate(Board board, int move, int[] gain) {
+		int from = Move.getFrom(move);
+		int target = Move.getTarget(move);
+		int side = board.getSide();
+
+		long occupied = board.getOccupied() ^ Bitboard.bit(from);
+		gain[0] = Move.isCapture(move)? Evaluation.value(Move.getCaptured(move)) : 0;
+		if (Move.isEnPassant(move)) {
+			occupied ^= Bitboard.bit(target + (side == Board.WHITE? -8 : 8));
+		}
+
+		int piece = Move.getType(move);
+		if (Move.isPromotion(move)) {
+			piece = Move.getPromotion(move);
+			gain[0] += Evaluation.value(piece) - Evaluation.value(Board.PAWN);
+		}
+
+		long diagonal = board.getPieces(Board.WHITE, Board.BISHOP) | board.getPieces(Board.BLACK, Board.BISHOP)
+				| board.getPieces(Board.WHITE, Board.QUEEN) | board.getPieces(Board.BLACK, Board.QUEEN);
+		long straight = board.getPieces(Board.WHITE, Board.ROOK) | board.getPieces(Board.BLACK, Board.ROOK)
+				| board.getPieces(Board.WHITE, Board.QUEEN) | board.getPieces(Board.BLACK, Board.QUEEN);
+		long attackers = board.attackersTo(target, occupied) & occupied;
+
+		int depth = 0;
+		side ^= 1;
+		while (depth + 1 < MAX_SWAPS) {
+			long own = attackers & board.getOccupancy(side);
+			if (own == 0) break;
+
+			//least valuable attacker, the King only if nothing defends anymore
+			int type = 0;
+			long set = 0;
+			for (int i = 0; set == 0; i++) {
+				type = order[i];
+				set = own & board.getPieces(side, type);
+			}
+			if (type == Board.KING && (attackers & board.getOccupancy(side ^ 1)) != 0) break;
+
+			depth++;
+			gain[depth] = Evaluation.value(piece) - gain[depth - 1];
+
+			occupied ^= Bitboard.bit(Bitboard.first(set));
+			attackers |= (Attacks.bishop(target, occupied) & diagonal) | (Attacks.rook(target, occupied) & straight);
+			attackers &= occupied;
+			piece = type;
+			side ^= 1;
+		}
+
+		//every side may stop instead of capturing
+		while (depth > 0) {
+			gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+			depth--;
+		}
+		return gain[0];
+	}
+}
@@ -0,0 +1,128 @@
+package engine;
+
+import board.Board;
+import board.Move;
+import board.MoveGenerator;
+import board.MoveStack;
+
+public class MoveOrder {
+
+	/*
+	 * sorts the moves of a ply so that those most likely to cause a cutoff are searched first:
+	 * the hash move, captures and promotions by most valuable victim / least valuable attacker,
+	 * the two killers of the ply (quiet moves that caused a cutoff in a sibling), the other quiet moves by history
+	 *
+	 * moves are picked one at a time, a cutoff after the first moves saves sorting the rest
+	 * subclasses may override score() to try other orders
+	 */
+
+	private static final int HASH = 1 << 30;
+	private static final int CAPTURE = 1 << 28;
+	private static final int KILLER = 1 << 27;
+	private static final int HISTORY_LIMIT = 1 << 20;		//history scores are halved when one exceeds this
+
+	private final int[] scores;				//per move of the MoveStack
+	private final int[][] killers;			//two per ply
+	private final int[][][] history;		//per side, origin and target: how often a quiet move caused a cutoff
+	private long cutoffs;					//number of cutoffs
+	private long firstCutoffs;				//number of cutoffs by the first move searched
+
+	//Constructor
+	public MoveOrder(int maxPly) {
+		scores = new int[maxPly * MoveGenerator.MAX_MOVES];
+		killers = new int[maxPly][2];
+		history = new int[2][64][64];
+	}
+
+	//a new search begins: killers are forgotten, history loses weight
+	public void clear() {
+		for (int[] pair : killers) {
+			pair[0] = Move.NONE;
+			pair[1] = Move.NONE;
+		}
+		age();
+		cutoffs = 0;
+		firstCutoffs = 0;
+	}
+
+	//scores all moves of the ply, they are taken in order by next()
+	public void score(Board board, MoveStack stack, int ply, int hashMove) {
+		int start = ply * MoveGenerator.MAX_MOVES;
+		for (int i = 0; i < stack.size(ply); i++) {
+			scores[start + i] = score(board, stack.get(ply, i), ply, hashMove);
+		}
+	}
+
+	//score of one move, higher is searched earlier
+	protected int score(Board board, int move, int ply, int hashMove) {
+		if (move == hashMove) {
+			return HASH;
+		}
+		if (Move.isCapture(move) || Move.isPromotion(move)) {
+			int victim = Move.isCapture(move)? Evaluation.value(Move.getCaptured(move)) : 0;
+			if (Move.isPromotion(move)) victim += Evaluation.value(Move.getPromotion(move));
+			return CAPTURE + victim * 16 - Evaluation.value(Move.getType(move)) / 16;
+		}
+		if (move == killers[ply][0]) {
+			return KILLER + 1;
+		}
+		if (move == killers[ply][1]) {
+			return KILLER;
+		}
+		return history[board.getSide()][Move.getFrom(move)][Move.getTarget(move)];
+	}
+
+	//moves the best of the moves i and above to i, returns it
+	public int next(MoveStack stack, int ply, int i) {
+		int start = ply * MoveGenerator.MAX_MOVES;
+		int best = i;
+		for (int j = i + 1; j < stack.size(ply); j++) {
+			if (scores[start + j] > scores[start + best]) best = j;
+		}
+		int move = stack.get(ply, best);
+		if (best != i) {
+			stack.set(ply, best, stack.get(ply, i));
+			stack.set(ply, i, move);
+			int score = scores[start + best];
+			scores[start + best] = scores[start + i];
+			scores[start + i] = score;
+		}
+		return move;
+	}
+
+	//a move caused a cutoff at the given depth, it was the index-th move searched
+	public void cutoff(Board board, int move, int ply, int depth, int index) {
+		cutoffs++;
+		if (index == 0) firstCutoffs++;
+		if (Move.isCapture(move) || Move.isPromotion(move)) return;
+
+		if (killers[ply][0] != move) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = move;
+		}
+		int[] scores = history[board.getSide()][Move.getFrom(move)];
+		scores[Move.getTarget(move)] += depth * depth;
+		if (scores[Move.getTarget(move)] > HISTORY_LIMIT) age();
+	}
+
+	//halve all history scores
+	private void age() {
+		for (int[][] side : history) {
+			for (int[] from : side) {
+				for (int target = 0; target < 64; target++) {
+					from[target] >>= 1;
+				}
+			}
+		}
+	}
+
+	//getter
+	public long getCutoffs() {
+		return cutoffs;
+	}
+
+	//share of cutoffs caused by the first move searched
+	public double getFirstCutoffRate() {
+		return cutoffs == 0? 0 : (double) firstCutoffs / cutoffs;
+	}
+}
@@ -0,0 +1,97 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import board.Board;
+
+public class Network {
+
+	/*
+	 * efficiently updatable neural network, an optional evaluation of a Search
+	 *
+	 * input: 768 features per perspective, one per piece (own or enemy, type) and square, seen from that side;
+	 * the first layer sums the weight columns of the present features into an Accumulator, which is updated
+	 * by each move instead of recomputed; the sums of both perspectives (side to move first) pass a clipped ReLU
+	 * and one dense layer gives the score
+	 *
+	 * weights are quantized: the first layer by QA, the output layer by QB, the score is scaled to hundredths of a Pawn
+	 * the loops are plain, so the JIT may vectorize them; the Vector API is an incubator module in this Java version
+	 *
+	 * file format, little endian:
+	 * int magic, int hidden size, short[768 * hidden] feature weights (feature major), short[hidden] feature biases,
+	 * short[2 * hidden] output weights, int output bias
+	 */
+
+	public static final int FEATURES = 768;
+	public static final int MAGIC = 0x4E4E5545;		//"NNUE"
+
+	static final int QA = 255;
+	static final int QB = 64;
+	static final int SCALE = 400;
+
+	final int hidden;					//size of the first layer per perspective
+	final short[] featureWeights;		//column of hidden weights per feature
+	final short[] featureBiases;
+	final short[] outputWeights;		//side to move first, then the opponent
+	final int outputBias;
+
+	//Constructor
+	private Network(int hidden, short[] featureWeights, short[] featureBiases, short[] outputWeights, int outputBias) {
+		this.hidden = hidden;
+		this.featureWeights = featureWeights;
+		this.featureBiases = featureBiases;
+		this.outputWeights = outputWeights;
+		this.outputBias = outputBias;
+	}
+
+	//read a network from a weights file
+	public static Network load(Path path) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+		if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+			throw new IOException("not a network file: " + path);
+		}
+		int hidden = buffer.getInt();
+		if (hidden < 1 || buffer.remaining() != (FEATURES * hidden + hidden + 2 * hidden) * 2 + 4) {
+			throw new IOException("damaged network file: " + path);
+		}
+
+		short[] featureWeights = new short[FEATURES * hidden];
+		buffer.asShortBuffer().get(featureWeights);
+		buffer.position(buffer.position() + featureWeights.length * 2);
+		short[] featureBiases = new short[hidden];
+		buffer.asShortBuffer().get(featureBiases);
+		buffer.position(buffer.position() + hidden * 2);
+		short[] outputWeights = new short[2 * hidden];
+		buffer.asShortBuffer().get(outputWeights);
+		buffer.position(buffer.position() + outputWeights.length * 2);
+
+		return new Network(hidden, featureWeights, featureBiases, outputWeights, buffer.getInt());
+	}
+
+	//feature of a piece on a square, seen from the perspective's side
+	static int feature(int perspective, int piece, int square) {
+		int relative = Board.sideOf(piece) == perspective? 0 : 6;
+		return ((relative + Board.typeOf(piece)) << 6) + (perspective == Board.WHITE? square : square ^ 56);
+	}
+
+	//score for the side to move from the sums of both perspectives
+	int output(int[] own, int[] enemy) {
+		long sum = 0;
+		for (int i = 0; i < hidden; i++) {
+			sum += Math.min(Math.max(own[i], 0), QA) * outputWeights[i];
+		}
+		for (int i = 0; i < hidden; i++) {
+			sum += Math.min(Math.max(enemy[i], 0), QA) * outputWeights[hidden + i];
+		}
+		return (int) ((sum + outputBias) * SCALE / (QA * QB));
+	}
+
+	//getter
+	public int getHidden() {
+		return hidden;
+	}
+}
@@ -0,0 +1,118 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+
+import board.Board;
+import board.Move;
+import board.MoveGenerator;
+
+public class OpeningBook {
+
+	/*
+	 * moves known for early positions, read from a file mapped into memory instead of loaded onto the heap
+	 *
+	 * the file is a sequence of 16 byte records (long Zobrist key, int move, int weight), sorted by key,
+	 * so the records of a position are found by binary search; a move is picked at random, weighted
+	 * a file is mapped as a whole, so it may have 2 GiB at most, which keeps every record offset (index * RECORD) an int
+	 */
+
+	public static final int RECORD = 16;		//bytes per record
+
+	private final MappedByteBuffer records;		//the whole file
+	private final int size;						//number of records
+
+	//Constructor
+	public OpeningBook(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("book file larger than 2 GiB: " + path);		//beyond a MappedByteBuffer and int offsets
+			}
+			if (channel.size() % RECORD != 0) {
+				throw new IOException("not a book file: " + path);
+			}
+			records = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			size = (int) (channel.size() / RECORD);
+		}
+	}
+
+	//a legal book move of the position, Move.NONE if the book doesn't know the position; moves is a buffer of MoveGenerator.MAX_MOVES ints
+	public int probe(Board board, int[] moves) {
+		long key = board.getKey();
+		int first = lowerBound(key);
+
+		long total = 0;
+		for (int i = first; i < size && records.getLong(i * RECORD) == key; i++) {
+			total += records.getInt(i * RECORD + 12);
+		}
+		if (total <= 0) return Move.NONE;
+
+		long pick = ThreadLocalRandom.current().nextLong(total);
+		for (int i = first; i < size && records.getLong(i * RECORD) == key; i++) {
+			pick -= records.getInt(i * RECORD + 12);
+			if (pick < 0) {
+				int move = records.getInt(i * RECORD + 8);
+				return MoveGenerator.find(board, Move.getFrom(move), Move.getTarget(move), Move.getPromotion(move), moves);
+			}
+		}
+		return Move.NONE;
+	}
+
+	//index of the first record with the key or behind it
+	private int lowerBound(long key) {
+		int low = 0, high = size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (records.getLong(middle * RECORD) < key) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	//getter
+	public int getSize() {
+		return size;
+	}
+
+	/*
+	 * writes a book file of the given positions and moves played there, count entries of the arrays are used
+	 * equal moves of a position are merged, their number is the weight
+	 */
+	public static void write(Path path, long[] keys, int[] moves, int count) throws IOException {
+		Integer[] order = new Integer[count];
+		for (int i = 0; i < count; i++) order[i] = i;
+		Arrays.sort(order, new Comparator<Integer>() {
+
+			@Override
+			public int compare(Integer a, Integer b) {
+				int result = Long.compare(keys[a], keys[b]);
+				return result != 0? result : Integer.compare(Move.getKey(moves[a]), Move.getKey(moves[b]));
+			}
+		});
+
+		ByteBuffer buffer = ByteBuffer.allocate(count * RECORD);
+		for (int i = 0; i < count; ) {
+			int j = i;
+			while (j < count && keys[order[j]] == keys[order[i]] && Move.getKey(moves[order[j]]) == Move.getKey(moves[order[i]])) j++;
+			buffer.putLong(keys[order[i]]).putInt(moves[order[i]]).putInt(j - i);
+			i = j;
+		}
+		buffer.flip();
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+}
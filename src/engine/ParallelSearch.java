@@ -0,0 +1,137 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import board.Board;
+
+public class ParallelSearch {
+
+	/*
+	 * lazy SMP: several Searches work on the same root at the same time and share one TranspositionTable
+	 * the threads don't divide the work, they only profit from each other's results in the table;
+	 * odd helpers search one ply deeper than the main search, so their results are ahead of it
+	 *
+	 * the main search runs in the calling thread, the helpers in a fixed pool of daemon threads;
+	 * when the main search is finished, the helpers are stopped and its move is returned
+	 */
+
+	private final Search main;					//decides the move
+	private final Search[] helpers;				//fill the table
+	private final ExecutorService pool;			//threads of the helpers, null without helpers
+	private final ArrayList<Future<?>> running;	//helpers of the current search
+
+	//Constructor, threads including the calling one
+	public ParallelSearch(TranspositionTable table, int threads) {
+		main = new Search(table);
+		helpers = new Search[Math.max(threads, 1) - 1];
+		for (int i = 0; i < helpers.length; i++) {
+			helpers[i] = new Search(table, i + 1);
+		}
+		running = new ArrayList<Future<?>>();
+
+		pool = helpers.length == 0? null : Executors.newFixedThreadPool(helpers.length, new ThreadFactory() {
+			private int count;
+
+			@Override
+			public synchronized Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Search helper " + ++count);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	//searches the position with all threads (see Search.search), returns the best move of the main search
+	public int search(Board position, int maxDepth, long time) {
+		return search(position, maxDepth, TimeManager.fixed(time));
+	}
+
+	//searches the position with all threads, the helpers run until the main search ends
+	public int search(final Board position, final int maxDepth, TimeManager time) {
+		for (final Search helper : helpers) {
+			helper.resume();
+			running.add(pool.submit(new Runnable() {
+
+				@Override
+				public void run() {
+					helper.iterate(position, maxDepth, TimeManager.infinite());
+				}
+			}));
+		}
+
+		int move;
+		try {
+			move = main.search(position, maxDepth, time);
+		} finally {
+			for (Search helper : helpers) {
+				helper.stop();
+			}
+			for (Future<?> future : running) {
+				try {
+					future.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException e) {
+					e.printStackTrace();
+				}
+			}
+			running.clear();
+		}
+		return move;
+	}
+
+	//selective parts of all threads, takes effect with the next search
+	public void setOptions(SearchOptions options) {
+		main.setOptions(options);
+		for (Search helper : helpers) {
+			helper.setOptions(options);
+		}
+	}
+
+	//evaluation of all threads, every thread keeps its own Accumulator (see Search.setNetwork)
+	public void setNetwork(Network network) {
+		main.setNetwork(network);
+		for (Search helper : helpers) {
+			helper.setNetwork(network);
+		}
+	}
+
+	//abort the running search, the best move so far is returned
+	public void stop() {
+		main.stop();
+		for (Search helper : helpers) {
+			helper.stop();
+		}
+	}
+
+	//end the helper threads, the object can't search afterwards
+	public void shutdown() {
+		if (pool != null) {
+			pool.shutdownNow();
+		}
+	}
+
+	//positions visited by all threads in the last search
+	public long getNodes() {
+		long nodes = main.getNodes();
+		for (Search helper : helpers) {
+			nodes += helper.getNodes();
+		}
+		return nodes;
+	}
+
+	//number of threads including the main search
+	public int getThreads() {
+		return helpers.length + 1;
+	}
+
+	//getter
+	public Search getMain() {
+		return main;
+	}
+}
@@ -0,0 +1,160 @@
+package engine;
+
+import board.Bitboard;
+import board.Board;
+import board.PieceSquareTable;
+
+public class PawnTable {
+
+	/*
+	 * cache of the pawn structure evaluation, indexed by the Pawn key of a position (see Board.getPawnKey)
+	 * the Pawns change only by Pawn moves and captures of Pawns, so nearly every position finds its entry
+	 *
+	 * an entry keeps the structure score of White minus Black (middlegame and endgame) and the passed Pawns
+	 * of both sides; doubled, isolated and passed Pawns are judged here, the King's shelter depends on the King
+	 * too and is added by Evaluation
+	 *
+	 * every Search owns its table, entries are never shared between threads
+	 */
+
+	//penalties and bonuses, middlegame and endgame
+	private static final int DOUBLED_MIDDLEGAME = -10, DOUBLED_ENDGAME = -20;
+	private static final int ISOLATED_MIDDLEGAME = -10, ISOLATED_ENDGAME = -15;
+	private static final int[] passedMiddlegame = {0, 5, 10, 20, 35, 60, 100, 0};		//per rank seen from the Pawn's side (0-7)
+	private static final int[] passedEndgame = {0, 10, 20, 40, 70, 120, 200, 0};
+
+	//stored with every key, so an empty entry (0) never matches, not even the key 0 of positions without Pawns
+	private static final long SEED = 0x9E3779B97F4A7C15L;
+
+	private static final int ENTRY_BYTES = 32;		//key, two passed masks, score
+
+	//squares in front of a Pawn on its own and the neighbouring files, per side and square
+	private static final long[][] passedMask = new long[2][64];
+
+	//neighbouring files per file
+	private static final long[] neighbourFiles = new long[8];
+
+	static {
+		for (int x = 0; x < 8; x++) {
+			if (x > 0) neighbourFiles[x] |= Bitboard.FILE_A << (x - 1);
+			if (x < 7) neighbourFiles[x] |= Bitboard.FILE_A << (x + 1);
+		}
+		for (int square = 0; square < 64; square++) {
+			long files = neighbourFiles[Bitboard.getX(square)] | Bitboard.FILE_A << Bitboard.getX(square);
+			int y = Bitboard.getY(square);
+			passedMask[Board.WHITE][square] = y == 7? 0 : files & (-1L << 8 * (y + 1));
+			passedMask[Board.BLACK][square] = files & ((1L << 8 * y) - 1);
+		}
+	}
+
+	private final long[] keys;			//Pawn key ^ SEED per entry, 0 if empty
+	private final long[][] passed;		//passed Pawns per side and entry
+	private final int[] scores;			//middlegame score in the upper, endgame score in the lower half
+	private final int mask;				//entries - 1
+	private long probes;				//number of lookups
+	private long hits;					//lookups that found their entry
+
+	//Constructor, size in megabytes, rounded down to a power of two entries
+	public PawnTable(int megabytes) {
+		if (megabytes < 1) {
+			throw new IllegalArgumentException("size must be at least 1 MB: " + megabytes);
+		}
+		int entries = Integer.highestOneBit((int) Math.min((long) megabytes * 1024 * 1024 / ENTRY_BYTES, 1 << 26));
+		keys = new long[entries];
+		passed = new long[2][entries];
+		scores = new int[entries];
+		mask = entries - 1;
+	}
+
+	//structure score of White minus Black, blended by the phase; the passed Pawns are in getPassed() afterwards
+	public int evaluate(Board board) {
+		int index = lookup(board);
+		int score = scores[index];
+		return PieceSquareTable.taper(score >> 16, (short) score, board.getPhase());
+	}
+
+	//passed Pawns of the side in the board's structure
+	public long getPassed(Board board, int side) {
+		return passed[side][lookup(board)];
+	}
+
+	//index of the board's entry, evaluated and stored if missing
+	private int lookup(Board board) {
+		long key = board.getPawnKey() ^ SEED;
+		int index = (int) board.getPawnKey() & mask;
+		probes++;
+		if (keys[index] == key) {
+			hits++;
+			return index;
+		}
+
+		int middlegame = 0, endgame = 0;
+		for (int side = Board.WHITE; side <= Board.BLACK; side++) {
+			int sign = side == Board.WHITE? 1 : -1;
+			long own = board.getPieces(side, Board.PAWN);
+			long enemy = board.getPieces(side ^ 1, Board.PAWN);
+			long passedPawns = 0;
+
+			for (int x = 0; x < 8; x++) {
+				int count = Bitboard.count(own & Bitboard.FILE_A << x);
+				if (count > 1) {
+					middlegame += sign * DOUBLED_MIDDLEGAME * (count - 1);
+					endgame += sign * DOUBLED_ENDGAME * (count - 1);
+				}
+			}
+
+			long set = own;
+			while (set != 0) {
+				int square = Bitboard.first(set);
+				set &= set - 1;
+
+				if ((own & neighbourFiles[Bitboard.getX(square)]) == 0) {
+					middlegame += sign * ISOLATED_MIDDLEGAME;
+					endgame += sign * ISOLATED_ENDGAME;
+				}
+				if ((enemy & passedMask[side][square]) == 0 && (own & passedMask[side][square] & Bitboard.FILE_A << Bitboard.getX(square)) == 0) {
+					passedPawns |= Bitboard.bit(square);
+					int rank = side == Board.WHITE? Bitboard.getY(square) : 7 - Bitboard.getY(square);
+					middlegame += sign * passedMiddlegame[rank];
+					endgame += sign * passedEndgame[rank];
+				}
+			}
+			passed[side][index] = passedPawns;
+		}
+
+		keys[index] = key;
+		scores[index] = middlegame << 16 | endgame & 0xFFFF;
+		return index;
+	}
+
+	//getter
+	public int getMegabytes() {
+		return Math.max(1, (int) ((long) keys.length * ENTRY_BYTES >> 20));
+	}
+
+	//getter
+	public int getCapacity() {
+		return keys.length;
+	}
+
+	//share of lookups that found their entry
+	public double getHitRate() {
+		return probes == 0? 0 : (double) hits / probes;
+	}
+
+	//getter
+	public long getProbes() {
+		return probes;
+	}
+
+	//getter
+	public long getHits() {
+		return hits;
+	}
+
+	//set counters to 0
+	public void resetStatistics() {
+		probes = 0;
+		hits = 0;
+	}
+}
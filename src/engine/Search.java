@@ -0,0 +1,360 @@
+package engine;
+
+import board.Board;
+import board.Move;
+import board.MoveStack;
+
+public class Search {
+
+	/*
+	 * negamax alpha-beta search with iterative deepening
+	 * every iteration searches one ply deeper than the last, until the depth or time limit is reached;
+	 * results are kept in the TranspositionTable, so the best move of the last iteration is searched first
+	 * at the end of the depth a quiescence search follows captures and promotions until the position is quiet
+	 * null move pruning, late move reductions and principal variation search are switched by SearchOptions
+	 *
+	 * scores are in hundredths of a Pawn, a mate in n plies scores MATE - n
+	 */
+
+	public static final int MAX_PLY = 128;
+	public static final int MATE = 30000;
+	public static final int INFINITY = 32000;
+
+	private static final int CHECK_INTERVAL = 1023;		//nodes between two looks at the clock
+	private static final int PAWN_TABLE_SIZE = 2;		//megabytes per Search
+
+	private final TranspositionTable table;		//shared results
+	private final int id;						//0 for the main search, helpers of a ParallelSearch count from 1
+	private final MoveStack stack;				//moves per ply
+	private final PawnTable pawns;				//cached pawn structures
+	private final int[] swaps;					//buffer of Exchange.evaluate
+	private Accumulator accumulator;			//sums of the Network evaluating instead of Evaluation, or null
+	private MoveOrder order;					//sorts the moves of a ply
+	private SearchOptions options;				//selective parts
+	private Board board;						//own copy of the searched position
+	private TimeManager time;					//limits of the running search
+	private volatile boolean stopped;			//abort as soon as possible
+	private long nodes;							//positions visited
+	private int rootMove;						//best root move of the running iteration
+	private int bestMove;						//best root move of the last completed iteration
+	private int score;							//its score
+	private int depth;							//depth of the last completed iteration
+
+	//Constructor
+	public Search(TranspositionTable table) {
+		this(table, 0);
+	}
+
+	//Constructor for a helper, odd helpers begin one ply deeper, so the threads don't search the same depths in step
+	Search(TranspositionTable table, int id) {
+		this.table = table;
+		this.id = id;
+		stack = new MoveStack(MAX_PLY);
+		pawns = new PawnTable(PAWN_TABLE_SIZE);
+		swaps = new int[Exchange.MAX_SWAPS];
+		order = new MoveOrder(MAX_PLY);
+		options = new SearchOptions();
+	}
+
+	/*
+	 * searches the position until the depth is completed or the time (milliseconds) is over, returns the best move
+	 * returns Move.NONE if there is no legal move
+	 */
+	public int search(Board position, int maxDepth, long time) {
+		return search(position, maxDepth, TimeManager.fixed(time));
+	}
+
+	//searches the position until the depth is completed or the TimeManager ends it, returns the best move
+	public int search(Board position, int maxDepth, TimeManager time) {
+		stopped = false;
+		return iterate(position, maxDepth, time);
+	}
+
+	//search without resetting stop(), so a helper stopped before it began returns at once
+	int iterate(Board position, int maxDepth, TimeManager time) {
+		board = new Board(position);
+		if (accumulator != null) accumulator.refresh(board);
+		time.start();
+		this.time = time;
+		nodes = 0;
+		bestMove = Move.NONE;
+		score = 0;
+		depth = 0;
+		order.clear();
+		if (id == 0) table.newSearch();
+
+		for (int d = 1 + id % 2; d <= Math.min(maxDepth, MAX_PLY - 1); d++) {
+			int result = negamax(d, 0, -INFINITY, INFINITY, false);
+			if (stopped) break;
+
+			score = result;
+			depth = d;
+			bestMove = rootMove;
+			if (Math.abs(score) >= MATE - MAX_PLY || !time.next(bestMove, score, d)) break;
+		}
+		if (bestMove == Move.NONE && stack.size(0) > 0) {
+			bestMove = stack.get(0, 0);
+		}
+		return bestMove;
+	}
+
+	//best score reachable from the position within depth plies, ply moves away from the root
+	private int negamax(int depth, int ply, int alpha, int beta, boolean nullAllowed) {
+		if ((++nodes & CHECK_INTERVAL) == 0 && System.nanoTime() > time.getDeadline()) {
+			stopped = true;
+		}
+		if (stopped) return 0;
+
+		if (ply > 0 && (board.getHalfmoveClock() >= 100 || board.isRepetition())) {
+			return 0;
+		}
+
+		long key = board.getKey();
+		long entry = table.probe(key);
+		int hashMove = Move.NONE;
+		if (entry != 0) {
+			hashMove = TranspositionTable.getMove(entry);
+			if (ply > 0 && TranspositionTable.getDepth(entry) >= depth) {
+				int stored = fromTable(TranspositionTable.getScore(entry), ply);
+				int bound = TranspositionTable.getBound(entry);
+				if (bound == TranspositionTable.EXACT
+						|| bound == TranspositionTable.LOWER && stored >= beta
+						|| bound == TranspositionTable.UPPER && stored <= alpha) {
+					return stored;
+				}
+			}
+		}
+
+		if (depth <= 0 || ply >= MAX_PLY - 1) {
+			return quiesce(ply, alpha, beta);
+		}
+
+		int side = board.getSide();
+		boolean check = board.isInCheck(side);
+		boolean pv = beta - alpha > 1;
+
+		//pass the turn: if the reduced search still fails high, a real move would too
+		if (options.isNullMove() && nullAllowed && !pv && !check && depth >= 3 && hasPieces(side)
+				&& beta < MATE - MAX_PLY && evaluate() >= beta) {
+			makeNull();
+			int score = -negamax(depth - 1 - options.getNullMoveReduction() - depth / 6, ply + 1, -beta, -beta + 1, false);
+			unmakeNull();
+			if (stopped) return 0;
+			if (score >= beta) {
+				return score >= MATE - MAX_PLY? beta : score;
+			}
+		}
+
+		int size = stack.generateLegal(board, ply);
+		if (size == 0) {
+			return check? -MATE + ply : 0;
+		}
+
+		order.score(board, stack, ply, hashMove);
+
+		int best = -INFINITY;
+		int bestMove = Move.NONE;
+		int original = alpha;
+		for (int i = 0; i < size; i++) {
+			int move = order.next(stack, ply, i);
+			make(move);
+
+			int score;
+			if (i == 0) {
+				score = -negamax(depth - 1, ply + 1, -beta, -alpha, true);
+			} else {
+				int reduction = 0;
+				if (options.isReductions() && depth >= options.getReductionDepth() && i >= options.getReductionIndex()
+						&& Move.isQuiet(move) && !check && !board.isInCheck(side ^ 1)) {
+					reduction = Math.min(i >= 2 * options.getReductionIndex() && depth >= 6? 2 : 1, depth - 2);
+				}
+				int window = options.isPvs()? alpha + 1 : beta;
+				score = -negamax(depth - 1 - reduction, ply + 1, -window, -alpha, true);
+				if (reduction > 0 && score > alpha) {
+					score = -negamax(depth - 1, ply + 1, -window, -alpha, true);
+				}
+				if (window != beta && score > alpha && score < beta) {
+					score = -negamax(depth - 1, ply + 1, -beta, -alpha, true);
+				}
+			}
+			unmake(move);
+			if (stopped) return 0;
+
+			if (score > best) {
+				best = score;
+				bestMove = move;
+				if (ply == 0) rootMove = move;
+				if (score > alpha) {
+					alpha = score;
+					if (alpha >= beta) {
+						order.cutoff(board, move, ply, depth, i);
+						break;
+					}
+				}
+			}
+		}
+
+		int bound = best >= beta? TranspositionTable.LOWER : best > original? TranspositionTable.EXACT : TranspositionTable.UPPER;
+		table.store(key, bestMove, toTable(best, ply), depth, bound);
+		return best;
+	}
+
+	//make a move on the board, the Accumulator follows
+	private void make(int move) {
+		if (accumulator != null) accumulator.push(board, move);
+		board.make(move);
+	}
+
+	//take back a move
+	private void unmake(int move) {
+		board.unmake(move);
+		if (accumulator != null) accumulator.pop();
+	}
+
+	//pass the turn
+	private void makeNull() {
+		if (accumulator != null) accumulator.pushNull();
+		board.makeNull();
+	}
+
+	//take back passing the turn
+	private void unmakeNull() {
+		board.unmakeNull();
+		if (accumulator != null) accumulator.pop();
+	}
+
+	//static score of the board for the side to move, by the Network if there is one
+	private int evaluate() {
+		if (accumulator != null) {
+			return accumulator.evaluate(board.getSide());
+		}
+		return Evaluation.evaluate(board, pawns);
+	}
+
+	//has the side pieces besides King and Pawns? without them passing the turn might be the best move (zugzwang)
+	private boolean hasPieces(int side) {
+		return (board.getOccupancy(side) & ~board.getPieces(side, Board.KING) & ~board.getPieces(side, Board.PAWN)) != 0;
+	}
+
+	/*
+	 * searches captures and promotions only, the side to move may also stand pat with the static evaluation
+	 * captures losing material by static exchange are skipped, in check every evasion is searched
+	 */
+	private int quiesce(int ply, int alpha, int beta) {
+		if ((++nodes & CHECK_INTERVAL) == 0 && System.nanoTime() > time.getDeadline()) {
+			stopped = true;
+		}
+		if (stopped) return 0;
+
+		boolean check = board.isInCheck(board.getSide());
+		int size = stack.generateLegal(board, ply);
+		if (size == 0) {
+			return check? -MATE + ply : 0;
+		}
+		if (ply >= MAX_PLY - 1) {
+			return evaluate();
+		}
+
+		int best = -INFINITY;
+		if (!check) {
+			best = evaluate();
+			if (best >= beta) return best;
+			if (best > alpha) alpha = best;
+		}
+
+		order.score(board, stack, ply, Move.NONE);
+		for (int i = 0; i < size; i++) {
+			int move = order.next(stack, ply, i);
+			if (!check && !Move.isCapture(move) && !Move.isPromotion(move)) break;		//sorted behind all captures
+			if (!check && Exchange.evaluate(board, move, swaps) < 0) continue;
+
+			make(move);
+			int score = -quiesce(ply + 1, -beta, -alpha);
+			unmake(move);
+			if (stopped) return 0;
+
+			if (score > best) {
+				best = score;
+				if (score > alpha) {
+					alpha = score;
+					if (alpha >= beta) break;
+				}
+			}
+		}
+		return best;
+	}
+
+	//mate scores are stored relative to the stored position, not to the root
+	private static int toTable(int score, int ply) {
+		if (score >= MATE - MAX_PLY) return score + ply;
+		if (score <= -MATE + MAX_PLY) return score - ply;
+		return score;
+	}
+
+	//mate score of the table relative to the root
+	private static int fromTable(int score, int ply) {
+		if (score >= MATE - MAX_PLY) return score - ply;
+		if (score <= -MATE + MAX_PLY) return score + ply;
+		return score;
+	}
+
+	//setter, takes effect with the next search
+	public void setOrder(MoveOrder order) {
+		this.order = order;
+	}
+
+	//evaluate with a Network instead of Evaluation, null to switch back; takes effect with the next search
+	public void setNetwork(Network network) {
+		accumulator = network == null? null : new Accumulator(network, MAX_PLY);
+	}
+
+	//getter
+	public PawnTable getPawns() {
+		return pawns;
+	}
+
+	//getter
+	public MoveOrder getOrder() {
+		return order;
+	}
+
+	//setter, takes effect with the next search
+	public void setOptions(SearchOptions options) {
+		this.options = options;
+	}
+
+	//getter
+	public SearchOptions getOptions() {
+		return options;
+	}
+
+	//abort the running search, the best move so far is returned
+	public void stop() {
+		stopped = true;
+	}
+
+	//allow the next iterate()
+	void resume() {
+		stopped = false;
+	}
+
+	//getter
+	public long getNodes() {
+		return nodes;
+	}
+
+	//getter
+	public int getScore() {
+		return score;
+	}
+
+	//getter
+	public int getDepth() {
+		return depth;
+	}
+
+	//getter
+	public int getBestMove() {
+		return bestMove;
+	}
+}
@@ -0,0 +1,86 @@
+package engine;
+
+public class SearchOptions {
+
+	/*
+	 * switches for the selective parts of a Search, all enabled by default
+	 * comparing the nodes a Search needs to reach a depth with and without one of them shows what it is worth
+	 *
+	 * null move pruning: if passing the turn still fails high in a reduced search, the real moves will too
+	 * late move reductions: quiet moves sorted late are searched shallower, and again at full depth if they surprise
+	 * principal variation search: moves after the first are only tested against a null window
+	 */
+
+	private boolean nullMove = true;		//null move pruning
+	private int nullMoveReduction = 2;		//plies a null move search is reduced by, besides the passed move
+	private boolean reductions = true;		//late move reductions
+	private int reductionDepth = 3;			//least remaining depth for reductions
+	private int reductionIndex = 3;			//moves searched without reduction
+	private boolean pvs = true;				//principal variation search
+
+	//getter
+	public boolean isNullMove() {
+		return nullMove;
+	}
+
+	//setter
+	public SearchOptions setNullMove(boolean nullMove) {
+		this.nullMove = nullMove;
+		return this;
+	}
+
+	//getter
+	public int getNullMoveReduction() {
+		return nullMoveReduction;
+	}
+
+	//setter
+	public SearchOptions setNullMoveReduction(int nullMoveReduction) {
+		this.nullMoveReduction = nullMoveReduction;
+		return this;
+	}
+
+	//getter
+	public boolean isReductions() {
+		return reductions;
+	}
+
+	//setter
+	public SearchOptions setReductions(boolean reductions) {
+		this.reductions = reductions;
+		return this;
+	}
+
+	//getter
+	public int getReductionDepth() {
+		return reductionDepth;
+	}
+
+	//setter
+	public SearchOptions setReductionDepth(int reductionDepth) {
+		this.reductionDepth = reductionDepth;
+		return this;
+	}
+
+	//getter
+	public int getReductionIndex() {
+		return reductionIndex;
+	}
+
+	//setter
+	public SearchOptions setReductionIndex(int reductionIndex) {
+		this.reductionIndex = reductionIndex;
+		return this;
+	}
+
+	//getter
+	public boolean isPvs() {
+		return pvs;
+	}
+
+	//setter
+	public SearchOptions setPvs(boolean pvs) {
+		this.pvs = pvs;
+		return this;
+	}
+}
@@ -0,0 +1,108 @@
+package engine;
+
+public class TimeManager {
+
+	/*
+	 * decides how long a Search may think about one move, all times in milliseconds
+	 *
+	 * the hard limit aborts the search in any case, the soft limit is checked after every iteration:
+	 * when the best move has stayed the same for several iterations less than the soft limit is used,
+	 * when the score has dropped (fail low) the soft limit is extended up to the hard limit
+	 *
+	 * a pondering search has no limits until ponderhit() hands over the limits of the actual move
+	 */
+
+	private static final long OVERHEAD = 50;			//reserve for executing the move
+	private static final int DEFAULT_MOVES_TO_GO = 30;	//moves the remaining time is planned for without a period
+	private static final int STABLE_ITERATIONS = 4;		//iterations with the same best move to stop early
+	private static final int FAIL_LOW = 30;				//score drop in hundredths of a Pawn that extends the time
+
+	private volatile long soft;			//planned time
+	private volatile long hard;			//time that may never be exceeded
+	private volatile boolean pondering;	//searching on the opponent's time, without limits
+	private volatile long start;		//System.nanoTime() of the start
+	private volatile long deadline;		//System.nanoTime() to abort at
+	private volatile long extended;		//soft limit, extended on fail lows
+	private int lastMove;			//best move of the last iteration
+	private int lastScore;			//score of the last iteration
+	private int stable;				//iterations the best move stayed the same
+
+	//Constructor
+	public TimeManager(long soft, long hard) {
+		this.soft = Math.max(1, Math.min(soft, hard));
+		this.hard = Math.max(1, hard);
+	}
+
+	//think at most the given time
+	public static TimeManager fixed(long time) {
+		return new TimeManager(time, time);
+	}
+
+	//think until stopped, e.g. pondering until ponderhit() sets limits
+	public static TimeManager infinite() {
+		TimeManager manager = new TimeManager(1, 1);
+		manager.pondering = true;
+		return manager;
+	}
+
+	//share the time left on a clock between the remaining moves
+	public static TimeManager forClock(long remaining, long increment, int movesToGo) {
+		long usable = Math.max(1, remaining - OVERHEAD);
+		int moves = movesToGo > 0? Math.min(movesToGo, DEFAULT_MOVES_TO_GO) : DEFAULT_MOVES_TO_GO;
+		long soft = usable / moves + increment * 3 / 4;
+		long hard = Math.min(usable * (movesToGo == 1? 9 : 3) / 10 + increment / 2, soft * 4);
+		return new TimeManager(Math.min(soft, hard), Math.max(1, Math.min(hard, usable)));
+	}
+
+	//the search begins now
+	public void start() {
+		start = System.nanoTime();
+		deadline = pondering? Long.MAX_VALUE : start + hard * 1000000;
+		extended = soft;
+		lastMove = 0;
+		lastScore = 0;
+		stable = 0;
+	}
+
+	//the opponent played the expected move, the pondering search continues with the limits of the planned manager
+	public void ponderhit(TimeManager planned) {
+		soft = planned.soft;
+		hard = planned.hard;
+		extended = soft;
+		start = System.nanoTime();
+		deadline = start + hard * 1000000;
+		pondering = false;
+	}
+
+	//System.nanoTime() when the search must be aborted
+	public long getDeadline() {
+		return deadline;
+	}
+
+	//an iteration is completed, may another one begin?
+	public boolean next(int move, int score, int depth) {
+		if (depth > 1) {
+			stable = move == lastMove? stable + 1 : 0;
+			if (score < lastScore - FAIL_LOW) {
+				extended = Math.min(hard, extended * 2);
+			}
+		}
+		lastMove = move;
+		lastScore = score;
+		if (pondering) return true;
+
+		long elapsed = (System.nanoTime() - start) / 1000000;
+		long limit = stable >= STABLE_ITERATIONS? extended / 2 : extended;
+		return elapsed < limit * 6 / 10;		//a new iteration takes about as long as all before
+	}
+
+	//getter
+	public long getSoft() {
+		return soft;
+	}
+
+	//getter
+	public long getHard() {
+		return hard;
+	}
+}
@@ -0,0 +1,199 @@
+package engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TranspositionTable {
+
+	/*
+	 * fixed size cache of search results, indexed by the Zobrist key of a position (see Board.getKey)
+	 *
+	 * an entry is two longs: key xor data, and data
+	 * data packs move (bits 0-23), score (24-39, signed), depth (40-47), bound (48-49) and age (50-55)
+	 * threads read and write without locks, an entry torn by two concurrent writers fails the xor test and counts as missing
+	 *
+	 * entries are grouped in buckets of two: the first keeps the deepest result, the second is always replaced
+	 */
+
+	//bounds of a stored score
+	public static final int NONE = 0, UPPER = 1, LOWER = 2, EXACT = 3;
+
+	private static final int BUCKET = 4;			//longs per bucket
+	private static final int BUCKET_BYTES = BUCKET * 8;
+	private static final long MAX_BUCKETS = 1L << 28;	//largest long array, 8 GB
+
+	private long[] table;		//buckets
+	private int mask;			//number of buckets - 1
+	private int megabytes;		//requested size
+	private int age;			//search counter, older entries are replaced first
+
+	private final LongAdder probes = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder stores = new LongAdder();
+	private final LongAdder replacements = new LongAdder();
+
+	//Constructor
+	public TranspositionTable(int megabytes) {
+		resize(megabytes);
+	}
+
+	//allocate table of at most the given size, rounded down to a power of two buckets (all entries are lost)
+	public void resize(int megabytes) {
+		if (megabytes < 1) {
+			throw new IllegalArgumentException("size must be at least 1 MB: " + megabytes);
+		}
+		long buckets = Math.min(Long.highestOneBit((long) megabytes * 1024 * 1024 / BUCKET_BYTES), MAX_BUCKETS);
+		this.megabytes = megabytes;
+		table = new long[(int) buckets * BUCKET];
+		mask = (int) buckets - 1;
+		resetStatistics();
+	}
+
+	//delete all entries
+	public void clear() {
+		Arrays.fill(table, 0);
+		age = 0;
+		resetStatistics();
+	}
+
+	//a new search begins, entries of earlier searches become less valuable
+	public void newSearch() {
+		age = (age + 1) & 63;
+	}
+
+	/*
+	 * looks up the entry of a position, returns its data or 0 if missing
+	 * the parts of the data are read with getMove, getScore, getDepth and getBound
+	 */
+	public long probe(long key) {
+		probes.increment();
+		long[] table = this.table;
+		int index = bucket(key);
+		for (int i = index; i < index + BUCKET; i += 2) {
+			long data = table[i + 1];
+			if ((table[i] ^ data) == key && data != 0) {
+				hits.increment();
+				return data;
+			}
+		}
+		return 0;
+	}
+
+	//store a search result, a deeper result of the same position from this search is kept
+	public void store(long key, int move, int score, int depth, int bound) {
+		long[] table = this.table;
+		int index = bucket(key);
+
+		long first = table[index + 1];
+		int slot;
+		if ((table[index] ^ first) == key && first != 0) {
+			if (move == 0) move = getMove(first);
+			if (depth < getDepth(first) && bound != EXACT && getAge(first) == age) return;
+			slot = index;
+		} else if ((table[index + 2] ^ table[index + 3]) == key && table[index + 3] != 0) {
+			if (move == 0) move = getMove(table[index + 3]);
+			slot = depth >= getDepth(first) || getAge(first) != age? index : index + 2;
+		} else {
+			slot = depth >= getDepth(first) || getAge(first) != age? index : index + 2;
+			if (table[slot + 1] != 0) replacements.increment();
+		}
+
+		long data = pack(move, score, depth, bound);
+		table[slot] = key ^ data;
+		table[slot + 1] = data;
+		stores.increment();
+	}
+
+	//pack parts of an entry
+	private long pack(int move, int score, int depth, int bound) {
+		return (move & 0xFFFFFFL)
+				| ((score & 0xFFFFL) << 24)
+				| ((long) Math.max(0, Math.min(depth, 255)) << 40)
+				| ((long) bound << 48)
+				| ((long) age << 50);
+	}
+
+	//first index of the key's bucket
+	private int bucket(long key) {
+		return (int) (key >>> 32 & mask) * BUCKET;
+	}
+
+	//getter
+	public static int getMove(long data) {
+		return (int) (data & 0xFFFFFF);
+	}
+
+	//getter
+	public static int getScore(long data) {
+		return (short) (data >>> 24);
+	}
+
+	//getter
+	public static int getDepth(long data) {
+		return (int) (data >>> 40) & 255;
+	}
+
+	//getter
+	public static int getBound(long data) {
+		return (int) (data >>> 48) & 3;
+	}
+
+	//getter
+	private static int getAge(long data) {
+		return (int) (data >>> 50) & 63;
+	}
+
+	//getter
+	public int getMegabytes() {
+		return megabytes;
+	}
+
+	//number of entries
+	public int getCapacity() {
+		return table.length / 2;
+	}
+
+	//share of probes that found their position
+	public double getHitRate() {
+		long probes = this.probes.sum();
+		return probes == 0? 0 : (double) hits.sum() / probes;
+	}
+
+	//getter
+	public long getProbes() {
+		return probes.sum();
+	}
+
+	//getter
+	public long getHits() {
+		return hits.sum();
+	}
+
+	//getter
+	public long getStores() {
+		return stores.sum();
+	}
+
+	//number of stores that overwrote an entry of another position
+	public long getReplacements() {
+		return replacements.sum();
+	}
+
+	//permille of entries filled in this search, estimated from the first thousand
+	public int getUsage() {
+		int used = 0, count = Math.min(1000, getCapacity());
+		for (int i = 0; i < count; i++) {
+			long data = table[2 * i + 1];
+			if (data != 0 && getAge(data) == age) used++;
+		}
+		return count == 0? 0 : used * 1000 / count;
+	}
+
+	//set all counters to 0
+	public void resetStatistics() {
+		probes.reset();
+		hits.reset();
+		stores.reset();
+		replacements.reset();
+	}
+}
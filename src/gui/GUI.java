@@ -4,13 +4,19 @@ import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
 import controller.VisualController;
+import main.Game;
+import main.Main;
 import piece.Piece;
+import player.Player;
 
 public class GUI extends JFrame implements Runnable {
 	private static final long serialVersionUID = 1L;
@@ -58,6 +64,7 @@ public class GUI extends JFrame implements Runnable {
 	private boolean isRunning = false;
 	private int FPS = 30;
 	private long targetTime = 1000 / FPS;
+	private String shownTitle = "Chess";		//title with the clocks' times
 	
 	//game loop
 	public void run() {
@@ -85,6 +92,35 @@ public class GUI extends JFrame implements Runnable {
 	//repaint
 	private void update() {
 		gamePanel.repaint();
+		updateTitle();
+		if (Game.hasInstance() && Game.isFlagged()) {
+			SwingUtilities.invokeLater(new Runnable() {
+
+				@Override
+				public void run() {
+					Game.checkTime();
+				}
+			});
+		}
+	}
+	
+	//shows the clocks' times in the title
+	private void updateTitle() {
+		String title = "Chess";
+		if (Game.hasInstance() && Player.White.hasClock() && Player.Black.hasClock()) {
+			title += "  -  White " + Player.White.getClock().getString() + "  Black " + Player.Black.getClock().getString();
+		}
+		if (!title.equals(shownTitle)) {
+			shownTitle = title;
+			final String text = title;
+			SwingUtilities.invokeLater(new Runnable() {
+
+				@Override
+				public void run() {
+					setTitle(text);
+				}
+			});
+		}
 	}
 	
 	//start displaying
@@ -101,7 +137,14 @@ public class GUI extends JFrame implements Runnable {
 	//Constructor
 	private GUI() {
 		super("Chess");
-		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+		addWindowListener(new WindowAdapter() {
+			
+			@Override
+			public void windowClosing(WindowEvent e) {
+				exit();
+			}
+		});
 		setLayout(new BorderLayout());
 		initComponent();
 		setJMenuBar(Menu.get());
@@ -123,6 +166,8 @@ public class GUI extends JFrame implements Runnable {
 	}
 	
 	public void exit() {
+		
+		Main.flush();	//saves still waiting
 
 		boolean repeat = false;
 		do {
@@ -3,9 +3,11 @@ package gui;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
+import javax.swing.ButtonGroup;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
+import javax.swing.JRadioButtonMenuItem;
 import javax.swing.event.MenuEvent;
 import javax.swing.event.MenuListener;
 
@@ -72,6 +74,25 @@ public class Menu extends JMenuBar {
 				Main.initGame(Game.Mode.BlackUser);
 			}
 		});
+		
+		newGame.addSeparator();
+		JMenu timeControl = new JMenu("Time Control");
+		newGame.add(timeControl);
+		ButtonGroup timeControls = new ButtonGroup();
+		timeControl.add(new TimeControlItem("No Clock", 0, 0, 0, timeControls));
+		timeControl.add(new TimeControlItem("Blitz 5 min + 3 s", 5, 3, 0, timeControls));
+		timeControl.add(new TimeControlItem("Rapid 15 min + 10 s", 15, 10, 0, timeControls));
+		timeControl.add(new TimeControlItem("Classical 40 moves in 90 min + 30 s", 90, 30, 40, timeControls));
+		
+		JMenu threads = new JMenu("Search Threads");
+		newGame.add(threads);
+		ButtonGroup threadCounts = new ButtonGroup();
+		ThreadsItem all = new ThreadsItem("Default", 0, threadCounts);
+		all.setSelected(true);
+		threads.add(all);
+		for (int count = 1; count < Runtime.getRuntime().availableProcessors(); count *= 2) {
+			threads.add(new ThreadsItem(Integer.toString(count), count, threadCounts));
+		}
 	}
 	
 	//menu option to load saved game
@@ -166,6 +187,46 @@ public class Menu extends JMenuBar {
 		}
 	}
 	
+	/*
+	 * selects the time control of new games
+	 */
+	private class TimeControlItem extends JRadioButtonMenuItem {
+		private static final long serialVersionUID = 1L;
+
+		//Constructor
+		TimeControlItem(String name, int minutes, int seconds, int movesToGo, ButtonGroup group) {
+			super(name);
+			group.add(this);
+			addActionListener(new ActionListener() {
+				
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					Main.setTimeControl(minutes * 60000L, seconds * 1000L, movesToGo);
+				}
+			});
+		}
+	}
+	
+	/*
+	 * selects the search threads of computer players in new games
+	 */
+	private class ThreadsItem extends JRadioButtonMenuItem {
+		private static final long serialVersionUID = 1L;
+
+		//Constructor
+		ThreadsItem(String name, int threads, ButtonGroup group) {
+			super(name);
+			group.add(this);
+			addActionListener(new ActionListener() {
+				
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					Main.setThreads(threads);
+				}
+			});
+		}
+	}
+	
 	/*
 	 * makes history jump to a given round index
 	 */
@@ -179,7 +240,7 @@ public class Menu extends JMenuBar {
 				
 				@Override
 				public void actionPerformed(ActionEvent e) {
-					Main.loadGame(Game.getName(), index);
+					Game.goTo(index);
 				}
 			});
 		}
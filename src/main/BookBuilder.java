@@ -0,0 +1,92 @@
+package main;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import board.Board;
+import board.Move;
+import board.MoveGenerator;
+import controller.SearchController;
+import engine.OpeningBook;
+import movement.MoveCommand;
+
+public abstract class BookBuilder {
+
+	/*
+	 * headless creation of an OpeningBook from the games saved in Main.PATH
+	 * every game is replayed from the starting formation, the first plies are recorded as (position, move) pairs;
+	 * a move played more often in a position gets a higher weight
+	 *
+	 * usage: BookBuilder [-plies <n>] [book file]
+	 * default: 16 plies per game, written to data/book.bin (see SearchController)
+	 */
+
+	public static final int DEFAULT_PLIES = 16;
+
+	//Constructor
+	public static void main(String[] args) {
+		int plies = DEFAULT_PLIES;
+
+		int i = 0;
+		while (i < args.length && args[i].startsWith("-")) {
+			switch(args[i]) {
+			case "-plies":			plies = Integer.parseInt(args[++i]);
+									break;
+			default:				System.err.println("unknown option " + args[i]);
+									return;
+			}
+			i++;
+		}
+		String book = i < args.length? args[i] : SearchController.DEFAULT_BOOK;
+
+		try {
+			int games = build(book, plies);
+			System.out.println(games + " games written to " + book);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	//write a book of the saved games to the file, returns the number of games used
+	public static int build(String book, int plies) throws IOException {
+		FileManager<Game.Properties> fileManager = Main.createFileManager();
+		long[] keys = new long[1024];
+		int[] moves = new int[1024];
+		int count = 0;
+		int games = 0;
+		int[] buffer = new int[MoveGenerator.MAX_MOVES];		//for finding the moves
+
+		for (String name : fileManager.getFilenames()) {
+			Game.Properties properties;
+			try {
+				properties = fileManager.open(name);
+			} catch (FileNotFoundException | ClassNotFoundException e) {
+				continue;
+			}
+			if (properties == null) continue;
+			Journal.replay(Main.journalPath(name), properties);
+
+			ArrayList<MoveCommand> commands = properties.getHistory().getMoves();
+			Board board = new Board();
+			for (int ply = 0; ply < plies && ply < commands.size(); ply++) {
+				int move = commands.get(ply).find(board, buffer);
+				if (move == Move.NONE) break;		//game doesn't start from the starting formation
+
+				if (count == keys.length) {
+					keys = Arrays.copyOf(keys, count * 2);
+					moves = Arrays.copyOf(moves, count * 2);
+				}
+				keys[count] = board.getKey();
+				moves[count++] = move;
+				board.make(move);
+			}
+			games++;
+		}
+
+		OpeningBook.write(Paths.get(book), keys, moves, count);
+		return games;
+	}
+}
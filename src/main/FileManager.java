@@ -1,12 +1,21 @@
 package main;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 
 import javax.swing.JFrame;
@@ -18,6 +27,9 @@ public class FileManager<T> {
 	//modifier
 	public static final int SORT_BY_DATE = 1;
 	public static final int SORT_BY_NAME = 2;
+	
+	public static final String TEMP = ".tmp";		//appended to a file while it is written
+	public static final String DAMAGED = ".bad";	//appended to a file that can't be read
 
 	
 	protected final String PATH;			//file path
@@ -49,28 +61,58 @@ public class FileManager<T> {
 	
 	//save file with given name
 	public void save(T object, String filename) throws IOException {
-		FileOutputStream fileOut = new FileOutputStream(extendedFilename(filename));
-		ObjectOutputStream objOut= new ObjectOutputStream(fileOut);
+		write(encode(object), filename);
+	}
+	
+	//content of a file for the object, so it may be written later; possible to override for other formats
+	public byte[] encode(T object) throws IOException {
+		ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+		ObjectOutputStream objOut = new ObjectOutputStream(byteOut);
 		
 		objOut.writeObject(object);
 		
 		objOut.close();
-		fileOut.close();
+		return byteOut.toByteArray();
+	}
+	
+	//object of a file's content, possible to override for other formats
+	protected T decode(byte[] data) throws IOException, ClassNotFoundException {
+		ObjectInputStream objIn = new ObjectInputStream(new ByteArrayInputStream(data));
+		
+		@SuppressWarnings("unchecked")
+		T object = (T) objIn.readObject();
+		
+		objIn.close();
+		return object;
+	}
+	
+	/*
+	 * save encoded object as file with given name
+	 * the data goes to a temporary file first, which is forced to the storage device and then moved over the file,
+	 * so an interruption leaves either the old or the new file, never a part of one
+	 */
+	public void write(byte[] data, String filename) throws IOException {
+		Path file = Paths.get(extendedFilename(filename));
+		Path temp = Paths.get(extendedFilename(filename) + TEMP);
+		
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.wrap(data);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		}
+		try {
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
 	}
 	
 	//load file with given name
 	public T open(String filename) throws FileNotFoundException, ClassNotFoundException {
 		try {
-			FileInputStream fileIn = new FileInputStream(extendedFilename(filename));
-			ObjectInputStream objIn = new ObjectInputStream(fileIn);
-			
-			@SuppressWarnings("unchecked")
-			T object = (T) objIn.readObject();
-			
-			fileIn.close();
-			objIn.close();
-			
-			return object;
+			return read(filename);
 			
 		} catch (FileNotFoundException e) {
 			throw e;
@@ -83,6 +125,27 @@ public class FileManager<T> {
 		return null;
 	}
 	
+	//load file with given name, without asking about damaged files
+	public T read(String filename) throws IOException, ClassNotFoundException {
+		FileInputStream fileIn = new FileInputStream(extendedFilename(filename));
+		byte[] data = fileIn.readAllBytes();
+		
+		fileIn.close();
+		
+		return decode(data);
+	}
+	
+	//rename a file that can't be read, so it isn't listed any more but kept for repairs
+	public void markDamaged(String filename) throws IOException {
+		Path file = Paths.get(extendedFilename(filename));
+		Files.move(file, Paths.get(file + DAMAGED), StandardCopyOption.REPLACE_EXISTING);
+	}
+	
+	//does a file with given name exist?
+	public boolean exists(String filename) {
+		return new File(extendedFilename(filename)).isFile();
+	}
+	
 	//get list of existing files names
 	public ArrayList<String> getFilenames() {
 
@@ -142,9 +205,9 @@ public class FileManager<T> {
 		}
 	}
 	
-	//is file?
+	//is file of this type?
 	private boolean fileCondition(File file) {
-		return file.isFile();
+		return file.isFile() && file.getName().endsWith(EXTENSION);
 	}
 	
 	//get name without path or extension
@@ -176,7 +239,7 @@ public class FileManager<T> {
 		ArrayList<File> sorted = new ArrayList<File>();
 		File first = null;
 		
-		for (int i = 0; i < list.size(); i++) {
+		while (!list.isEmpty()) {
 
 			for (File file : list) {
 				
@@ -2,12 +2,14 @@ package main;
 
 import java.io.Serializable;
 
-import controller.RandomController;
+import board.Board;
+import board.MoveGenerator;
+import controller.SearchController;
 import controller.VisualController;
 import gui.GUI;
 import movement.History;
 import navigation.Grid;
-import piece.Piece;
+import player.Clock;
 import player.Player;
 
 public class Game {
@@ -40,14 +42,53 @@ public class Game {
 		runningGame = new Game(properties, -1);
 	}
 	
-	//start game
+	//start game, a clock still running from before is stopped
 	public static void start() {
-		runningGame.activePlayer = Player.White;
+		for (Player player : Player.values()) {
+			if (player.hasClock()) {
+				player.getClock().pause();
+			}
+		}
+		runningGame.activePlayer = Player.get(runningGame.board.getSide());
 		runningGame.calculate();
 	}
 	
+	//jump to a round of the history
+	public static void goTo(int round) {
+		runningGame.properties.history.goTo(runningGame.board, round);
+		start();
+	}
+	
+	//ends the game as soon as the player to move runs out of time, called by the GUI's timer in the event dispatch thread
+	public static void checkTime() {
+		if (runningGame == null || runningGame.timeOver) {
+			return;
+		}
+		if (isFlagged()) {
+			Player player = runningGame.activePlayer;
+			runningGame.timeOver = true;
+			player.getClock().pause();
+			player.halt();
+			GUI.gameoverMessage(player.opponent().name() + " wins on time. Leave game?");
+		}
+	}
+	
+	//is the active player's time over?
+	public static boolean isFlagged() {
+		Player player = runningGame == null? null : runningGame.activePlayer;
+		return player != null && player.hasClock() && player.getClock().isRunning() && player.getClock().isFlagged();
+	}
+	
+	//legal move of the current position by squares, a promotion without piece type becomes a queen (Move.NONE if illegal)
+	public static int findMove(int from, int target, int promotion) {
+		return MoveGenerator.select(runningGame.moves, runningGame.size, from, target, promotion);
+	}
+	
 	//next player's move
 	public static void nextMove() {
+		if (runningGame.activePlayer.hasClock()) {
+			runningGame.activePlayer.getClock().stop();
+		}
 		runningGame.save();
 		runningGame.togglePlayers();
 		runningGame.calculate();
@@ -74,19 +115,25 @@ public class Game {
 	}
 
 	//getter
-	public static Piece getPiece(String code) {
-		return code.charAt(0) == Player.White.initial()? Player.White.getPiece(code) : Player.Black.getPiece(code);
+	public static Board getBoard() {
+		return runningGame.board;
 	}
 	
 	
 	private final Properties properties;	//game information
+	private final Board board;				//current position
+	private final int[] moves;				//legal moves of the current position
+	private int size;						//their number
 	private Player activePlayer;			//player allowed to act
+	private boolean timeOver;				//has a player lost on time?
 	
 	//Constructor
 	private Game(Properties properties, int preferredRound){
 		this.properties = properties;
+		board = new Board();
+		moves = new int[MoveGenerator.MAX_MOVES];
+		properties.history.goTo(board, preferredRound);		//fails before the players change if a move is illegal
 		properties.initPlayers();
-		properties.history.goTo(preferredRound);
 	}
 	
 	//change active player
@@ -101,52 +148,46 @@ public class Game {
 		
 		scan();
 		
-		validate();
-		
-		if (activePlayer.hasLegalMovement()) {
+		if (timeOver) {
+			return;		//the game stays over, the position is only displayed
+		}
+		if (activePlayer.opponent().hasClock() && activePlayer.opponent().getClock().isFlagged()) {
+			timeOver = true;
+			GUI.gameoverMessage(activePlayer.name() + " wins on time. Leave game?");
+		} else if (activePlayer.hasLegalMovement()) {
+			if (activePlayer.hasClock()) {
+				activePlayer.getClock().start();
+			}
 			activePlayer.act();
 		} else {
 			GUI.gameoverMessage(gameoverText());
 		}
 	}
 	
-	//delete old information
+	//delete old information, display the board's position
 	private void clean() {
 		Grid.reset();
 		
 		for (Player player : Player.values()) {
+			player.load(board);
 			player.prepareCalculation();
 		}
 	}
 	
-	//register movement possibilities
+	//register movement possibilities of the active player
 	private void scan() {
-		for (Player player : Player.values()) {
-			player.calculate();	
-		}
+		size = MoveGenerator.generateLegal(board, moves, 0);
+		activePlayer.distribute(moves, size);
 	}
 	
-	/*
-	 * This method will repeat itself as long as any validating method from Player, Piece or MovementScanner returns false.
-	 * MovementScanner should return false if any MovementPossibilities are manipulated.
-	 */
-	private void validate() {
-		for (Player player : Player.values()) {
-			if (!player.validateCalculation()) {
-				validate();
-				break;
-			}
-		}
-	}
-	
-	//save game as file
+	//save the move made, the game's file is renewed only now and then (see Main)
 	private void save() {
-		Main.saveGame();
+		Main.saveMove();
 	}
 	
 	//generate gameover message
 	private String gameoverText() {
-		if (activePlayer.isInCheck()) {
+		if (board.isInCheck(activePlayer.ordinal())) {
 			return activePlayer.opponent().name() + " wins by checkmate. Leave game?";
 		} else {
 			return "Remis. Leave game?";
@@ -162,25 +203,170 @@ public class Game {
 		private final Mode mode;		//against human or computer
 		private final History history;	//history is saved
 		private String name;			//name as identification
+		private int threads;			//search threads of a computer player chosen by the user, 0 for the default
+		private long time;				//milliseconds per player and period, 0 without clock
+		private long increment;			//milliseconds added per move
+		private int movesToGo;			//moves per period, 0 for one period
+		private long[] remaining;		//milliseconds left per player when saved, null before
+		private int[] movesLeft;		//moves left in the period per player when saved
+		private transient Clock[] clocks;	//clocks of the running game
 		
 		//Constructor
 		Properties(String name, Mode mode) {
 			this.name = name;
 			this.mode = mode;
 			history = new History();
+			time = Long.getLong("chess.time", 0) * 1000;
+			increment = Long.getLong("chess.increment", 0) * 1000;
+			movesToGo = Integer.getInteger("chess.movestogo", 0);
+		}
+		
+		//Constructor, for a decoded game, moves are restored into its history afterwards
+		Properties(String name, Mode mode, int threads, long time, long increment, int movesToGo) {
+			this.name = name;
+			this.mode = mode;
+			history = new History();
+			this.threads = threads;
+			this.time = time;
+			this.increment = increment;
+			this.movesToGo = movesToGo;
+		}
+		
+		//set time control in milliseconds, time 0 for games without clock
+		void setTimeControl(long time, long increment, int movesToGo) {
+			this.time = time;
+			this.increment = increment;
+			this.movesToGo = movesToGo;
+		}
+		
+		//new clock for a player, null without time control, a saved game's clock goes on with the time left
+		private Clock createClock(Player player) {
+			if (time <= 0) {
+				return null;
+			}
+			if (clocks == null) {
+				clocks = new Clock[Player.values().length];
+			}
+			int i = player.ordinal();
+			if (remaining != null && i < remaining.length && i < movesLeft.length) {
+				clocks[i] = new Clock(time, increment, movesToGo, remaining[i], movesLeft[i]);
+			} else {
+				clocks[i] = new Clock(time, increment, movesToGo);
+			}
+			return clocks[i];
+		}
+		
+		//take over the time left of the running clocks, before the game is saved
+		void storeClocks() {
+			if (clocks == null) {
+				return;
+			}
+			remaining = new long[clocks.length];
+			movesLeft = new int[clocks.length];
+			for (int i = 0; i < clocks.length; i++) {
+				remaining[i] = clocks[i].getRemaining();
+				movesLeft[i] = clocks[i].getMovesToGo();
+			}
+		}
+		
+		//set the time and moves left of one player, for a replayed journal
+		void restoreClock(int side, long remaining, int movesLeft) {
+			if (this.remaining == null) {
+				this.remaining = new long[Player.values().length];
+				this.movesLeft = new int[Player.values().length];
+				for (int i = 0; i < this.remaining.length; i++) {
+					this.remaining[i] = time;
+					this.movesLeft[i] = movesToGo;
+				}
+			}
+			if (side < this.remaining.length) {
+				this.remaining[side] = remaining;
+				this.movesLeft[side] = movesLeft;
+			}
+		}
+		
+		//clock of a player in the running game, null without
+		Clock getClock(int side) {
+			return clocks == null? null : clocks[side];
+		}
+		
+		//setter, for a decoded game
+		void restoreClocks(long[] remaining, int[] movesLeft) {
+			this.remaining = remaining;
+			this.movesLeft = movesLeft;
+		}
+		
+		//getter, null if not saved with a clock
+		long[] getRemaining() {
+			return remaining;
+		}
+		
+		//getter, null if not saved with a clock
+		int[] getMovesLeft() {
+			return movesLeft;
+		}
+		
+		//system property chess.threads, all processors if not set
+		private static int defaultThreads() {
+			return Math.max(1, Integer.getInteger("chess.threads", Runtime.getRuntime().availableProcessors()));
+		}
+		
+		//getter
+		String getName() {
+			return name;
+		}
+		
+		//getter
+		Mode getMode() {
+			return mode;
+		}
+		
+		//getter
+		long getTime() {
+			return time;
+		}
+		
+		//getter
+		long getIncrement() {
+			return increment;
+		}
+		
+		//getter
+		int getMovesToGo() {
+			return movesToGo;
+		}
+		
+		//getter
+		History getHistory() {
+			return history;
+		}
+		
+		//search threads to use, the default if not chosen
+		int getThreads() {
+			return threads > 0? threads : defaultThreads();
+		}
+		
+		//search threads chosen by the user, 0 for the default (which is not saved, it depends on the computer)
+		int getChosenThreads() {
+			return threads;
+		}
+		
+		//setter, 0 for the default, takes effect when the players are initialized
+		void setThreads(int threads) {
+			this.threads = Math.max(0, threads);
 		}
 		
 		//activate Players
 		void initPlayers() {
 			switch(mode) {
-			case WhiteUser:		Player.White.init(new VisualController(Player.White));
-								Player.Black.init(new RandomController(Player.Black));
+			case WhiteUser:		Player.White.init(new VisualController(Player.White), createClock(Player.White));
+								Player.Black.init(new SearchController(Player.Black, getThreads()), createClock(Player.Black));
 								break;
-			case BlackUser:		Player.White.init(new RandomController(Player.White));
-								Player.Black.init(new VisualController(Player.Black));
+			case BlackUser:		Player.White.init(new SearchController(Player.White, getThreads()), createClock(Player.White));
+								Player.Black.init(new VisualController(Player.Black), createClock(Player.Black));
 								break;
-			default:			Player.White.init(new VisualController(Player.White));
-								Player.Black.init(new VisualController(Player.Black));
+			default:			Player.White.init(new VisualController(Player.White), createClock(Player.White));
+								Player.Black.init(new VisualController(Player.Black), createClock(Player.Black));
 								break;
 			}
 		}
@@ -0,0 +1,191 @@
+package main;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+import board.Board;
+import board.Move;
+import board.MoveGenerator;
+import movement.History;
+import movement.MoveCommand;
+import player.Player;
+
+public class GameFileManager extends FileManager<Game.Properties> {
+
+	/*
+	 * saves games in a compact binary format instead of Java serialization
+	 *
+	 * format, version 2:
+	 * 'C' 'G', version, flags (bit 0: checksum), then unsigned varints (7 bits per byte, low bits first):
+	 * name length and UTF-8 bytes, mode, threads (0 for the default), time, increment, moves to go,
+	 * number of clocks (0 or one per player) and per clock milliseconds left + 1 (0 if the time is over) and moves left in the period,
+	 * number of moves;
+	 * then 2 bytes per move: start square, target square << 6, promoted piece type << 12 (0 without promotion)
+	 * with the checksum flag a CRC32 of everything before ends the file
+	 * version 1 has no clocks, its games start with full clocks
+	 *
+	 * decoding replays the moves on a Board, which proves them legal and gives the pieces' codes
+	 */
+
+	public static final String EXTENSION = ".game";
+	public static final int VERSION = 2;
+
+	private static final int CHECKSUM = 1;		//flag
+
+	private final boolean checksum;		//append a checksum when encoding?
+
+	//Constructor
+	public GameFileManager(String path, String basicName, boolean checksum) {
+		super(path, basicName);
+		this.checksum = checksum;
+	}
+
+	@Override
+	protected String initExtension() {
+		return EXTENSION;
+	}
+
+	@Override
+	public byte[] encode(Game.Properties properties) throws IOException {
+		ArrayList<MoveCommand> moves = properties.getHistory().getMoves();
+		byte[] name = properties.getName().getBytes(StandardCharsets.UTF_8);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(32 + name.length + 2 * moves.size());
+		out.write('C');
+		out.write('G');
+		out.write(VERSION);
+		out.write(checksum? CHECKSUM : 0);
+		writeVarint(out, name.length);
+		out.write(name);
+		writeVarint(out, properties.getMode().ordinal());
+		writeVarint(out, properties.getChosenThreads());
+		writeVarint(out, properties.getTime());
+		writeVarint(out, properties.getIncrement());
+		writeVarint(out, properties.getMovesToGo());
+		long[] remaining = properties.getRemaining();
+		int[] movesLeft = properties.getMovesLeft();
+		writeVarint(out, remaining == null? 0 : remaining.length);
+		for (int i = 0; remaining != null && i < remaining.length; i++) {
+			writeVarint(out, Math.max(-1, remaining[i]) + 1);
+			writeVarint(out, movesLeft[i]);
+		}
+		writeVarint(out, moves.size());
+		for (MoveCommand move : moves) {
+			int promotion = move.getPromotion() == Board.EMPTY? 0 : move.getPromotion();
+			int code = move.getOrigin() | move.getTarget() << 6 | promotion << 12;
+			out.write(code >>> 8);
+			out.write(code);
+		}
+
+		if (checksum) {
+			CRC32 crc = new CRC32();
+			crc.update(out.toByteArray());
+			long value = crc.getValue();
+			for (int shift = 24; shift >= 0; shift -= 8) {
+				out.write((int) (value >>> shift));
+			}
+		}
+		return out.toByteArray();
+	}
+
+	@Override
+	protected Game.Properties decode(byte[] data) throws IOException {
+		ByteBuffer in = ByteBuffer.wrap(data);
+		if (data.length < 4 || in.get() != 'C' || in.get() != 'G') {
+			throw new IOException("not a game file");
+		}
+		int version = in.get();
+		if (version < 1 || version > VERSION) {
+			throw new IOException("unknown version " + version);
+		}
+		int flags = in.get();
+		if ((flags & CHECKSUM) != 0) {
+			if (data.length < 8) {
+				throw new IOException("damaged game file");
+			}
+			CRC32 crc = new CRC32();
+			crc.update(data, 0, data.length - 4);
+			if ((int) crc.getValue() != ByteBuffer.wrap(data, data.length - 4, 4).getInt()) {
+				throw new IOException("wrong checksum");
+			}
+			in.limit(data.length - 4);
+		}
+
+		try {
+			byte[] name = new byte[readInt(in)];
+			in.get(name);
+			int mode = readInt(in);
+			if (mode >= Game.Mode.values().length) {
+				throw new IOException("unknown mode " + mode);
+			}
+			Game.Properties properties = new Game.Properties(new String(name, StandardCharsets.UTF_8), Game.Mode.values()[mode],
+					readInt(in), readVarint(in), readVarint(in), readInt(in));
+			int clocks = version > 1? readInt(in) : 0;
+			if (clocks > Player.values().length) {
+				throw new IOException("damaged game file");
+			}
+			if (clocks > 0) {
+				long[] remaining = new long[clocks];
+				int[] movesLeft = new int[clocks];
+				for (int i = 0; i < clocks; i++) {
+					remaining[i] = readVarint(in) - 1;
+					movesLeft[i] = readInt(in);
+				}
+				properties.restoreClocks(remaining, movesLeft);
+			}
+
+			History history = properties.getHistory();
+			Board board = new Board();
+			int[] moves = new int[MoveGenerator.MAX_MOVES];
+			int size = readInt(in);
+			for (int ply = 0; ply < size; ply++) {
+				int code = (in.get() & 0xFF) << 8 | in.get() & 0xFF;
+				int promotion = code >>> 12;
+				MoveCommand command = MoveCommand.restore(board, code & 63, code >>> 6 & 63, promotion == 0? Board.EMPTY : promotion);
+				int move = command.find(board, moves);
+				if (move == Move.NONE) {
+					throw new IOException("illegal move " + (ply + 1));
+				}
+				history.restore(ply, command);
+				board.make(move);
+			}
+			return properties;
+		} catch (BufferUnderflowException e) {
+			throw new IOException("damaged game file", e);
+		}
+	}
+
+	//write an unsigned number, 7 bits per byte
+	private static void writeVarint(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	//read an unsigned number, 7 bits per byte
+	private static long readVarint(ByteBuffer in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.get();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return value;
+		}
+		throw new IOException("damaged number");
+	}
+
+	//read an unsigned number that fits an int
+	private static int readInt(ByteBuffer in) throws IOException {
+		long value = readVarint(in);
+		if (value > Integer.MAX_VALUE) {
+			throw new IOException("damaged number");
+		}
+		return (int) value;
+	}
+}
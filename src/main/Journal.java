@@ -0,0 +1,197 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import movement.History;
+import movement.MoveCommand;
+
+public class Journal {
+
+	/*
+	 * append-only log of a game's moves, kept next to its snapshot (the saved Game.Properties)
+	 * saving a move writes one record of RECORD bytes instead of the whole game:
+	 * ply (2 bytes), start and target square, promotion + 1, piece code (3 characters)
+	 * in games with a clock a clock record of the same size follows, with the mover's time left after the move:
+	 * CLOCK (2 bytes), milliseconds left + 1 (5 bytes, 0 if the time is over), moves left in the period
+	 * the file starts with a header of the same size: 'C' 'J', version, 0, number of moves in the snapshot (4 bytes)
+	 *
+	 * a record of ply p replaces the moves from p on, so moves taken back need no rewriting;
+	 * compaction writes a new snapshot and empties the journal, writing the new snapshot's number of moves into the header
+	 * if the program ends in between, the journal still has the header of the older snapshot and is ignored by replay(),
+	 * as the new snapshot contains all its moves; a record equal to the move the history already has is skipped
+	 *
+	 * how often records are forced to the storage device is set by the system property chess.journal.sync
+	 */
+
+	public static final String EXTENSION = ".journal";
+	public static final int RECORD = 8;				//bytes per move
+	public static final int HEADER = RECORD;		//bytes before the first record
+	public static final int VERSION = 2;			//1 without clock records
+	public static final int CLOCK = 0xFFFF;			//ply of a clock record
+	public static final int BATCH = 16;				//records per force with Sync.BATCH
+
+	//fsync policy
+	public enum Sync {
+		ALWAYS,		//force every record
+		BATCH,		//force every BATCH records and when emptied
+		NEVER;		//leave it to the operating system
+
+		//system property chess.journal.sync, BATCH if not set
+		public static Sync getDefault() {
+			try {
+				return valueOf(System.getProperty("chess.journal.sync", BATCH.name()).toUpperCase());
+			} catch (IllegalArgumentException e) {
+				return BATCH;
+			}
+		}
+	}
+
+	private final FileChannel channel;		//positioned at the end
+	private final Sync sync;				//fsync policy
+	private final ByteBuffer buffer;		//one record
+	private int records;					//records in the file
+	private int unforced;					//records written since the last force
+
+	//Constructor, opens or creates the file
+	public Journal(Path path, Sync sync) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.sync = sync;
+		buffer = ByteBuffer.allocate(RECORD);
+		channel.read(buffer, 0);
+		buffer.flip();
+		int header = hasHeader(buffer)? HEADER : 0;
+		records = (int) ((channel.size() - header) / RECORD);
+		channel.truncate(header + (long) records * RECORD);		//an incomplete record at the end
+		channel.position(channel.size());
+	}
+
+	//write the move of a ply (counted from 0)
+	public void append(int ply, MoveCommand move) throws IOException {
+		String pieceCode = move.getPieceCode();
+		buffer.clear();
+		buffer.putChar((char) ply).put((byte) move.getOrigin()).put((byte) move.getTarget()).put((byte) (move.getPromotion() + 1));
+		for (int i = 0; i < 3; i++) {
+			buffer.put((byte) (i < pieceCode.length()? pieceCode.charAt(i) : ' '));
+		}
+		write();
+	}
+
+	//write the time and moves left of the player who made the move appended last
+	public void appendClock(long remaining, int movesLeft) throws IOException {
+		long time = Math.min(Math.max(-1, remaining) + 1, (1L << 40) - 1);
+		buffer.clear();
+		buffer.putChar((char) CLOCK).put((byte) (time >>> 32)).putInt((int) time).put((byte) Math.min(movesLeft, 255));
+		write();
+	}
+
+	//write the record in the buffer
+	private void write() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		records++;
+		unforced++;
+		if (sync == Sync.ALWAYS || sync == Sync.BATCH && unforced >= BATCH) {
+			force();
+		}
+	}
+
+	//delete all records, after the game was saved as a snapshot of a number of moves
+	public void clear(int plies) throws IOException {
+		channel.truncate(0);
+		buffer.clear();
+		buffer.put((byte) 'C').put((byte) 'J').put((byte) VERSION).put((byte) 0).putInt(plies);
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		records = 0;
+		if (sync != Sync.NEVER) {
+			force();
+		}
+	}
+
+	//write everything to the storage device
+	public void force() throws IOException {
+		channel.force(false);
+		unforced = 0;
+	}
+
+	//close the file, records not forced yet are left to the operating system
+	public void close() throws IOException {
+		if (sync != Sync.NEVER && unforced > 0) {
+			force();
+		}
+		channel.close();
+	}
+
+	//getter
+	public int getRecords() {
+		return records;
+	}
+
+	/*
+	 * apply the records of a journal file to the snapshot's history and clocks, returns the number of moves in it
+	 * or -1 if the journal does not belong to the snapshot (or is missing), so the next save has to be a snapshot
+	 * an incomplete record at the end (the program ended while writing) and everything behind a damaged one is ignored
+	 */
+	public static int replay(Path path, Game.Properties properties) throws IOException {
+		History history = properties.getHistory();
+		if (!Files.isRegularFile(path)) {
+			return -1;
+		}
+		ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+		boolean header = hasHeader(data);
+		if (header) {
+			data.position(2);
+			int version = data.get();
+			data.get();
+			if (version < 1 || version > VERSION) {
+				throw new IOException("unknown journal version " + version);
+			}
+			if (data.getInt() != history.getPlies()) {
+				return -1;		//journal of an older snapshot
+			}
+		}
+
+		int moves = 0;
+		int last = -1;		//ply of the last move record
+		while (data.remaining() >= RECORD) {
+			int ply = data.getChar();
+			if (ply == CLOCK) {
+				long time = (long) (data.get() & 0xFF) << 32 | data.getInt() & 0xFFFFFFFFL;
+				int movesLeft = data.get() & 0xFF;
+				if (last >= 0) {
+					properties.restoreClock(last % 2, time - 1, movesLeft);
+				}
+				continue;
+			}
+			int origin = data.get(), target = data.get(), promotion = data.get() - 1;
+			char[] pieceCode = new char[3];
+			for (int i = 0; i < 3; i++) {
+				pieceCode[i] = (char) data.get();
+			}
+			if (ply > history.getPlies() || origin < 0 || origin > 63 || target < 0 || target > 63) {
+				break;
+			}
+			MoveCommand known = history.getMove(ply);
+			if (known == null || known.getOrigin() != origin || known.getTarget() != target || known.getPromotion() != promotion) {
+				history.restore(ply, MoveCommand.restore(new String(pieceCode), origin, target, promotion));
+			}
+			last = ply;
+			moves++;
+		}
+		return header? moves : -1;
+	}
+
+	//does the data start with a header?
+	private static boolean hasHeader(ByteBuffer data) {
+		return data.limit() >= HEADER && data.get(0) == 'C' && data.get(1) == 'J';
+	}
+}
@@ -1,36 +1,82 @@
 package main;
 
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 
 import gui.DesignManager;
 import gui.GUI;
+import movement.History;
 
 public abstract class Main {
 	
 	/*
 	 * this is simply the main class containing the main method and being able to create/load/end any game
+	 *
+	 * a game is saved as a snapshot of its Properties plus a Journal of the moves made since;
+	 * every COMPACTION moves (system property chess.journal.compaction) the snapshot is renewed and the journal emptied;
+	 * in games with a clock the journal keeps the mover's time left with every move;
+	 * the files are written by a SaveQueue in the background
+	 *
+	 * the snapshot format follows EXTENSION (system property chess.save.extension): .game for the compact format
+	 * of GameFileManager (the default, games saved as .ser before are converted at start), .ser for Java serialization
 	 */
 	
 	//file information
 	public static final String PATH = "data/save/";
-	public static final String EXTENSION = ".ser";
+	public static final String BASIC_NAME = "Game No.";
+	public static final String EXTENSION = System.getProperty("chess.save.extension", GameFileManager.EXTENSION);
+	public static final int COMPACTION = Math.max(1, Integer.getInteger("chess.journal.compaction", 64));
 	
 	//Constructor
 	public static void main(String[] args) {
 		DesignManager.init();
-		fileManager = new FileManager<Game.Properties>("data/save/", "Game No.");
+		fileManager = createFileManager();
+		if (fileManager instanceof GameFileManager) {
+			SaveMigrator.migrate(PATH, fileManager, false);
+		}
 		fileManager.modify(FileManager.SORT_BY_DATE);
+		saveQueue = new SaveQueue(fileManager);
 		GUI.init();	//initializes GUI
 	}
 	
 	private static FileManager<Game.Properties> fileManager;	//organizes old games
+	private static SaveQueue saveQueue;							//writes in the background
+	private static int journalRecords;							//moves in the running game's journal, -1 if the next save must be a snapshot
+	private static long time = -1, increment;					//time control of new games in milliseconds, time -1 for the system properties
+	private static int movesToGo;								//moves per period of new games
+	private static int threads;									//search threads of new games, 0 for the default
+	
+	//file manager of the selected format
+	static FileManager<Game.Properties> createFileManager() {
+		if (EXTENSION.equals(GameFileManager.EXTENSION)) {
+			return new GameFileManager(PATH, BASIC_NAME, Boolean.parseBoolean(System.getProperty("chess.save.checksum", "true")));
+		}
+		return new FileManager<Game.Properties>(PATH, BASIC_NAME);
+	}
 	
 	//start new game
 	public static void initGame(Game.Mode mode) {
-		createGame(new Game.Properties(fileManager.generateName(), mode), 0);
+		journalRecords = -1;
+		Game.Properties properties = new Game.Properties(fileManager.generateName(), mode);
+		if (time >= 0) {
+			properties.setTimeControl(time, increment, movesToGo);
+		}
+		properties.setThreads(threads);
+		createGame(properties, 0);
+	}
+	
+	//set search threads of new games, 0 for the default (system property chess.threads or all processors)
+	public static void setThreads(int threads) {
+		Main.threads = threads;
+	}
+	
+	//set time control of new games in milliseconds, time 0 for games without clock
+	public static void setTimeControl(long time, long increment, int movesToGo) {
+		Main.time = time;
+		Main.increment = increment;
+		Main.movesToGo = movesToGo;
 	}
 	
 	//load game completely
@@ -40,10 +86,16 @@ public abstract class Main {
 	
 	//load game to certain round
 	public static boolean loadGame(String name, int round) {
+		flush();
 		try {
-			createGame(fileManager.open(name), round);
+			Game.Properties properties = fileManager.open(name);
+			if (properties == null) {
+				return false;
+			}
+			journalRecords = Journal.replay(journalPath(name), properties);
+			createGame(properties, round);
 			return true;
-		} catch (FileNotFoundException | ClassNotFoundException e) {
+		} catch (ClassNotFoundException | IOException | IllegalStateException e) {
 			e.printStackTrace();
 			return false;
 		}
@@ -56,28 +108,53 @@ public abstract class Main {
 		Game.start();
 	}
 	
-	//save game as file
+	//save game as snapshot, its journal is emptied
 	public static void saveGame() {
 		if (Game.hasInstance()) {
 			try {
-				fileManager.save(Game.getProperties(), Game.getName());
+				Game.getProperties().storeClocks();
+				saveQueue.saveGame(Game.getName(), fileManager.encode(Game.getProperties()), Game.getHistory().getPlies());
+				journalRecords = 0;
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
 		}
 	}
 	
+	//save the last move of the game, the whole game if it has no snapshot yet or the journal is long enough
+	public static void saveMove() {
+		if (Game.hasInstance()) {
+			History history = Game.getHistory();
+			if (journalRecords < 0 || journalRecords >= COMPACTION) {
+				saveGame();
+			} else {
+				int ply = history.getPlies() - 1;
+				saveQueue.saveMove(Game.getName(), ply, history.getLastMove(), Game.getProperties().getClock(ply % 2));
+				journalRecords++;
+			}
+		}
+	}
+	
+	//wait until all saves are written
+	public static void flush() {
+		if (saveQueue != null) {
+			saveQueue.flush();
+		}
+	}
+	
+	//get journal file of a game
+	static Path journalPath(String name) {
+		return Paths.get(PATH + name + Journal.EXTENSION);
+	}
+	
 	//delete game by name
 	public static void deleteGame(String name) {
-		File file = new File(PATH + name + EXTENSION);
-		
-		if (!file.delete()) {
-			file.deleteOnExit();
-		}
+		saveQueue.delete(name);
 	}
 	
 	//get list of games names
 	public static ArrayList<String> getSavedNames() {
+		flush();
 		return fileManager.getFilenames();
 	}
 	
@@ -0,0 +1,189 @@
+package main;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import board.Board;
+import board.Move;
+import board.MoveGenerator;
+import board.MoveStack;
+
+public abstract class Perft {
+
+	/*
+	 * headless counting of all move paths up to a given depth, without any GUI
+	 * the counts are compared with known results to prove the move generation correct, the time measures its speed
+	 *
+	 * usage: Perft [-threads <n>] [-split <plies>] [-speedup] <depth> [FEN]
+	 * without FEN the starting formation is counted
+	 *
+	 * with more than one thread the subtrees of the first plies (split, default 2, at least the root) are counted
+	 * in a ForkJoinPool, every task on its own copy of the Board; -speedup counts single threaded afterwards for comparison,
+	 * after an untimed single threaded warm-up count, so the first timed run does not pay for the JIT compilation
+	 */
+
+	//Constructor
+	public static void main(String[] args) {
+		int threads = 1;
+		int split = 2;
+		boolean speedup = false;
+
+		int i = 0;
+		while (i < args.length && args[i].startsWith("-")) {
+			switch(args[i]) {
+			case "-threads":		threads = Integer.parseInt(args[++i]);
+									break;
+			case "-split":			split = Integer.parseInt(args[++i]);
+									break;
+			case "-speedup":		speedup = true;
+									break;
+			default:				System.err.println("unknown option " + args[i]);
+									return;
+			}
+			i++;
+		}
+		if (i >= args.length) {
+			System.err.println("usage: Perft [-threads <n>] [-split <plies>] [-speedup] <depth> [FEN]");
+			return;
+		}
+
+		int depth = Integer.parseInt(args[i]);
+		if (depth < 1) {
+			System.err.println("depth must be at least 1");
+			return;
+		}
+		Board board = args.length > i + 1? new Board(join(args, i + 1)) : new Board();
+
+		if (speedup && threads > 1) {
+			count(new Board(board), new MoveStack(Math.max(depth, 1)), depth, 0);		//warm-up, so both timed runs are compiled alike
+		}
+
+		long start = System.nanoTime();
+		long nodes = threads > 1? divide(board, depth, threads, split) : divide(board, depth);
+		long elapsed = System.nanoTime() - start;
+
+		System.out.println();
+		System.out.println("Nodes: " + nodes);
+		report(threads > 1? "Time (" + threads + " threads)" : "Time", nodes, elapsed);
+
+		if (speedup && threads > 1) {
+			start = System.nanoTime();
+			count(board, new MoveStack(Math.max(depth, 1)), depth, 0);
+			long single = System.nanoTime() - start;
+			report("Time (1 thread)", nodes, single);
+			System.out.println("Speedup: " + String.format("%.2f", (double) single / elapsed));
+		}
+	}
+
+	//print time and speed
+	private static void report(String label, long nodes, long elapsed) {
+		System.out.println(label + ": " + (elapsed / 1000000) + " ms, " + (elapsed > 0? nodes * 1000000000L / elapsed : 0) + " nodes/second");
+	}
+
+	//count move paths per root move in parallel, print each count
+	public static long divide(Board board, int depth, int threads, int split) {
+		Task root = new Task(new Board(board), depth, Math.max(split, 1));
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			pool.invoke(root);
+		} finally {
+			pool.shutdown();
+		}
+
+		for (int i = 0; i < root.children.length; i++) {
+			System.out.println(Move.getString(root.moves[i]) + ": " + root.children[i].join());
+		}
+		return root.join();
+	}
+
+	//count move paths per root move, print each count
+	public static long divide(Board board, int depth) {
+		MoveStack stack = new MoveStack(Math.max(depth, 1));
+		long nodes = 0;
+
+		int size = stack.generateLegal(board, 0);
+		for (int i = 0; i < size; i++) {
+			int move = stack.get(0, i);
+			board.make(move);
+			long count = depth > 1? count(board, stack, depth - 1, 1) : 1;
+			board.unmake(move);
+
+			System.out.println(Move.getString(move) + ": " + count);
+			nodes += count;
+		}
+		return nodes;
+	}
+
+	//count move paths, the last ply is only generated, not made
+	public static long count(Board board, MoveStack stack, int depth, int ply) {
+		if (depth == 0) {
+			return 1;
+		}
+		int size = stack.generateLegal(board, ply);
+		if (depth == 1) {
+			return size;
+		}
+
+		long nodes = 0;
+		for (int i = 0; i < size; i++) {
+			int move = stack.get(ply, i);
+			board.make(move);
+			nodes += count(board, stack, depth - 1, ply + 1);
+			board.unmake(move);
+		}
+		return nodes;
+	}
+
+	/*
+	 * counts the move paths below one position, splits into subtasks for the first plies
+	 */
+	private static class Task extends RecursiveTask<Long> {
+		private static final long serialVersionUID = 1L;
+
+		private final Board board;		//own copy, never shared between tasks
+		private final int depth;		//plies left to count
+		private final int split;		//plies left to split into subtasks
+		private int[] moves;			//legal moves, if split
+		private Task[] children;		//subtask per move, if split
+
+		//Constructor
+		Task(Board board, int depth, int split) {
+			this.board = board;
+			this.depth = depth;
+			this.split = split;
+		}
+
+		@Override
+		protected Long compute() {
+			if (split <= 0 || depth == 0) {
+				return count(board, new MoveStack(Math.max(depth, 1)), depth, 0);
+			}
+
+			moves = new int[MoveGenerator.MAX_MOVES];
+			children = new Task[MoveGenerator.generateLegal(board, moves, 0)];
+			for (int i = 0; i < children.length; i++) {
+				Board child = new Board(board);
+				child.make(moves[i]);
+				children[i] = new Task(child, depth - 1, split - 1);
+			}
+			invokeAll(children);
+
+			long nodes = 0;
+			for (Task child : children) {
+				nodes += child.join();
+			}
+			return nodes;
+		}
+	}
+
+	//join arguments with spaces
+	private static String join(String[] args, int from) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = from; i < args.length; i++) {
+			if (i > from) builder.append(' ');
+			builder.append(args[i]);
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,214 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import board.Board;
+import board.Move;
+import board.MoveGenerator;
+import board.San;
+import movement.History;
+import movement.MoveCommand;
+
+public abstract class PgnImport {
+
+	/*
+	 * headless import of the games of a PGN file into the saved games of Main.PATH
+	 * the file is read line by line, never as a whole; batches of BATCH games are handed to a pool of threads,
+	 * which parse the moves, check them with the legal move generation (see San) and save each game as a Hotseat game
+	 * at most two batches per thread wait, the reading waits for them (so memory stays bounded)
+	 *
+	 * games are named after the file and their number in it; games with an illegal move or starting from
+	 * another position than the starting formation (FEN tag) are skipped, so are games without moves
+	 *
+	 * usage: PgnImport [-threads <n>] [-prefix <name>] <PGN file>
+	 */
+
+	public static final int BATCH = 256;		//games per task
+
+	//Constructor
+	public static void main(String[] args) {
+		int threads = Runtime.getRuntime().availableProcessors();
+		String prefix = null;
+
+		int i = 0;
+		while (i < args.length && args[i].startsWith("-")) {
+			switch(args[i]) {
+			case "-threads":		threads = Integer.parseInt(args[++i]);
+									break;
+			case "-prefix":			prefix = args[++i];
+									break;
+			default:				System.err.println("unknown option " + args[i]);
+									return;
+			}
+			i++;
+		}
+		if (i >= args.length) {
+			System.err.println("usage: PgnImport [-threads <n>] [-prefix <name>] <PGN file>");
+			return;
+		}
+
+		Path path = Paths.get(args[i]);
+		if (prefix == null) {
+			prefix = path.getFileName().toString().replaceFirst("\\.[^.]*$", "") + " ";
+		}
+		try {
+			long start = System.nanoTime();
+			int[] counts = importFile(path, prefix, Math.max(1, threads));
+			System.out.println(counts[0] + " games imported, " + counts[1] + " skipped in " + (System.nanoTime() - start) / 1000000 + " ms");
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	//import the games of the file, returns the numbers of imported and skipped games
+	public static int[] importFile(Path path, final String prefix, int threads) throws IOException {
+		final FileManager<Game.Properties> fileManager = Main.createFileManager();
+		final AtomicInteger imported = new AtomicInteger();
+		final AtomicInteger skipped = new AtomicInteger();
+		final Semaphore waiting = new Semaphore(2 * threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.ISO_8859_1)) {
+			ArrayList<String> batch = new ArrayList<String>();
+			int first = 1;		//number of the batch's first game
+			String game;
+			while ((game = readGame(reader)) != null) {
+				batch.add(game);
+				if (batch.size() == BATCH) {
+					submit(executor, waiting, batch, first, prefix, fileManager, imported, skipped);
+					first += batch.size();
+					batch = new ArrayList<String>();
+				}
+			}
+			if (!batch.isEmpty()) {
+				submit(executor, waiting, batch, first, prefix, fileManager, imported, skipped);
+			}
+		} finally {
+			executor.shutdown();
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return new int[] {imported.get(), skipped.get()};
+	}
+
+	//hand a batch to the pool, waits while too many batches wait
+	private static void submit(ExecutorService executor, final Semaphore waiting, final ArrayList<String> batch, final int first,
+			final String prefix, final FileManager<Game.Properties> fileManager, final AtomicInteger imported, final AtomicInteger skipped) {
+		waiting.acquireUninterruptibly();
+		executor.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				int[] moves = new int[MoveGenerator.MAX_MOVES];		//buffer of San.parse for the whole batch
+				try {
+					for (int i = 0; i < batch.size(); i++) {
+						Game.Properties properties = parse(prefix + (first + i), batch.get(i), moves);
+						if (properties == null) {
+							skipped.incrementAndGet();
+							continue;
+						}
+						try {
+							fileManager.save(properties, properties.getName());
+							imported.incrementAndGet();
+						} catch (IOException e) {
+							e.printStackTrace();
+							skipped.incrementAndGet();
+						}
+					}
+				} finally {
+					waiting.release();
+				}
+			}
+		});
+	}
+
+	//text of the next game (tags and moves), null at the end of the file
+	static String readGame(BufferedReader reader) throws IOException {
+		StringBuilder game = new StringBuilder();
+		boolean moves = false;		//are the moves reached?
+		String line;
+		while (true) {
+			reader.mark(8192);
+			line = reader.readLine();
+			if (line == null) break;
+			String trimmed = line.trim();
+			if (trimmed.startsWith("[") && moves) {
+				reader.reset();		//tag of the next game
+				break;
+			}
+			if (!trimmed.isEmpty() && !trimmed.startsWith("[") && !trimmed.startsWith("%")) {
+				moves = true;
+			}
+			game.append(line).append('\n');
+		}
+		return game.toString().trim().isEmpty()? null : game.toString();
+	}
+
+	//the game of a PGN text, null if it has an illegal move, starts from another position or has no moves
+	//moves is a buffer of MoveGenerator.MAX_MOVES ints, reused for every move
+	static Game.Properties parse(String name, String text, int[] moves) {
+		Game.Properties properties = new Game.Properties(name, Game.Mode.Hotseat);
+		History history = properties.getHistory();
+		Board board = new Board();
+		int ply = 0;
+
+		int depth = 0;		//nesting of comments and variations
+		int i = 0;
+		while (i < text.length()) {
+			char c = text.charAt(i);
+			if (depth == 0 && c == '[') {
+				int end = text.indexOf(']', i);
+				if (end < 0) return null;
+				String tag = text.substring(i + 1, end).trim();
+				if (tag.startsWith("FEN ") || tag.startsWith("SetUp \"1\"") || tag.startsWith("Variant ") && !tag.contains("\"Standard\"")) {
+					return null;
+				}
+				i = end + 1;
+			} else if (c == '{') {
+				int end = text.indexOf('}', i);
+				if (end < 0) return null;
+				i = end + 1;
+			} else if (c == ';' || c == '%' && (i == 0 || text.charAt(i - 1) == '\n')) {
+				int end = text.indexOf('\n', i);
+				i = end < 0? text.length() : end + 1;
+			} else if (c == '(') {
+				depth++;
+				i++;
+			} else if (c == ')') {
+				depth--;
+				i++;
+			} else if (Character.isWhitespace(c)) {
+				i++;
+			} else {
+				int end = i;
+				while (end < text.length() && !Character.isWhitespace(text.charAt(end)) && "{}();[".indexOf(text.charAt(end)) < 0) end++;
+				String token = text.substring(i, end);
+				i = end;
+				if (depth > 0 || token.startsWith("$")) continue;
+
+				token = token.replaceFirst("^\\d+\\.+", "");		//move number
+				if (token.isEmpty() || token.equals("*") || token.equals("1-0") || token.equals("0-1") || token.equals("1/2-1/2")) continue;
+
+				int move = San.parse(board, token, moves);
+				if (move == Move.NONE) return null;
+				history.restore(ply++, MoveCommand.restore(board, Move.getFrom(move), Move.getTarget(move), Move.getPromotion(move)));
+				board.make(move);
+			}
+		}
+		return ply > 0? properties : null;
+	}
+}
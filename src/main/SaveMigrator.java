@@ -0,0 +1,53 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+public abstract class SaveMigrator {
+
+	/*
+	 * converts the games saved with Java serialization (.ser) in Main.PATH into the format of a GameFileManager
+	 * the moves of a game's Journal are included; games already converted are skipped, the old files are kept
+	 * unless -delete is given; a file that can't be converted is renamed (see FileManager.DAMAGED), so it is tried only once
+	 *
+	 * usage: SaveMigrator [-delete]
+	 * Main runs it without -delete at start when the binary format is selected
+	 */
+
+	//Constructor
+	public static void main(String[] args) {
+		boolean delete = args.length > 0 && args[0].equals("-delete");
+		int games = migrate(Main.PATH, new GameFileManager(Main.PATH, Main.BASIC_NAME, true), delete);
+		System.out.println(games + " games converted");
+	}
+
+	/*
+	 * convert every serialized game of the directory without counterpart in the target's format, returns the number converted
+	 * a game that can't be read or converted is reported in one line and marked as damaged, the others are converted anyway
+	 */
+	public static int migrate(String path, FileManager<Game.Properties> target, boolean delete) {
+		FileManager<Game.Properties> source = new FileManager<Game.Properties>(path, Main.BASIC_NAME);
+		int games = 0;
+
+		for (String name : source.getFilenames()) {
+			if (target.exists(name)) continue;
+			try {
+				Game.Properties properties = source.read(name);
+				Journal.replay(Paths.get(path + name + Journal.EXTENSION), properties);
+				target.save(properties, name);
+				if (delete) {
+					source.deleteFile(name);
+				}
+				games++;
+			} catch (ClassNotFoundException | IOException | RuntimeException e) {
+				System.err.println("could not convert \"" + name + "\", marked as damaged: " + e);
+				try {
+					source.markDamaged(name);
+				} catch (IOException f) {
+					System.err.println("could not rename \"" + name + "\": " + f);
+				}
+			}
+		}
+		return games;
+	}
+}
@@ -0,0 +1,223 @@
+package main;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import movement.MoveCommand;
+import player.Clock;
+
+public class SaveQueue {
+
+	/*
+	 * writes saved games in a background thread, so a move never waits for the storage device
+	 * the caller only encodes a snapshot (see FileManager.encode) or hands over a move for the Journal
+	 *
+	 * pending work is coalesced per game name: a snapshot replaces the moves queued before it, a deletion both;
+	 * at most CAPACITY moves may wait, further saves block until the writer catches up (backpressure)
+	 * flush() waits until everything is written and forced to the device, GUI.exit() calls it
+	 */
+
+	public static final int CAPACITY = 256;		//moves waiting at most
+
+	//work waiting for one game
+	private static class Pending {
+		boolean delete;									//delete the files first
+		byte[] snapshot;								//write this snapshot, then empty the journal
+		int snapshotPlies;								//moves in the snapshot
+		final ArrayList<MoveCommand> moves;				//then append these moves
+		final ArrayList<Integer> plies;					//of these plies
+		final ArrayList<long[]> clocks;					//time and moves left of their movers, null without clock
+
+		//Constructor
+		Pending() {
+			moves = new ArrayList<MoveCommand>();
+			plies = new ArrayList<Integer>();
+			clocks = new ArrayList<long[]>();
+		}
+	}
+
+	private final FileManager<Game.Properties> fileManager;
+	private final ExecutorService executor;					//the writing thread
+	private LinkedHashMap<String, Pending> pending;			//per game name, guarded by this
+	private int size;										//moves not written yet, guarded by this
+	private boolean scheduled;								//a write is submitted, guarded by this
+
+	private Journal journal;								//open journal, used by the writing thread only
+	private String journalName;								//name of its game
+
+	//Constructor
+	public SaveQueue(FileManager<Game.Properties> fileManager) {
+		this.fileManager = fileManager;
+		pending = new LinkedHashMap<String, Pending>();
+		executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Save");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	//write an encoded snapshot of the game with its number of moves, its journal is emptied
+	public synchronized void saveGame(String name, byte[] snapshot, int plies) {
+		Pending entry = get(name);
+		size -= entry.moves.size();
+		entry.moves.clear();
+		entry.plies.clear();
+		entry.clocks.clear();
+		entry.snapshot = snapshot;
+		entry.snapshotPlies = plies;
+		schedule();
+		notifyAll();
+	}
+
+	//append a move and the time left on its mover's clock (null without) to the game's journal, blocks while CAPACITY moves are waiting
+	public synchronized void saveMove(String name, int ply, MoveCommand move, Clock clock) {
+		while (size >= CAPACITY) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		Pending entry = get(name);
+		entry.moves.add(move);
+		entry.plies.add(ply);
+		entry.clocks.add(clock == null? null : new long[] {clock.getRemaining(), clock.getMovesToGo()});
+		size++;
+		schedule();
+	}
+
+	//delete the files of a game
+	public synchronized void delete(String name) {
+		Pending entry = get(name);
+		size -= entry.moves.size();
+		entry.moves.clear();
+		entry.plies.clear();
+		entry.clocks.clear();
+		entry.snapshot = null;
+		entry.delete = true;
+		schedule();
+		notifyAll();
+	}
+
+	//wait until everything is written and forced to the storage device
+	public void flush() {
+		try {
+			executor.submit(new Runnable() {
+
+				@Override
+				public void run() {
+					write();
+					try {
+						if (journal != null) journal.force();
+					} catch (IOException e) {
+						e.printStackTrace();
+					}
+				}
+			}).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			e.printStackTrace();
+		}
+	}
+
+	//waiting work of the game, created if there is none
+	private Pending get(String name) {
+		Pending entry = pending.get(name);
+		if (entry == null) {
+			entry = new Pending();
+			pending.put(name, entry);
+		}
+		return entry;
+	}
+
+	//let the writing thread run, unless it is about to
+	private void schedule() {
+		if (scheduled) return;
+		scheduled = true;
+		executor.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				write();
+			}
+		});
+	}
+
+	//write all waiting work, in the writing thread
+	private void write() {
+		LinkedHashMap<String, Pending> work;
+		synchronized (this) {
+			work = pending;
+			pending = new LinkedHashMap<String, Pending>();
+			scheduled = false;
+		}
+
+		int written = 0;
+		for (String name : work.keySet()) {
+			Pending entry = work.get(name);
+			try {
+				if (entry.delete) {
+					deleteFiles(name);
+				}
+				if (entry.snapshot != null) {
+					fileManager.write(entry.snapshot, name);				//replaces the old snapshot at once, then
+					openJournal(name).clear(entry.snapshotPlies);		//the journal's moves are no longer needed
+				}
+				for (int i = 0; i < entry.moves.size(); i++) {
+					openJournal(name).append(entry.plies.get(i), entry.moves.get(i));
+					long[] clock = entry.clocks.get(i);
+					if (clock != null) {
+						openJournal(name).appendClock(clock[0], (int) clock[1]);
+					}
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+			written += entry.moves.size();
+		}
+
+		synchronized (this) {
+			size -= written;
+			notifyAll();
+		}
+	}
+
+	//journal of the game, the one of the game before is closed
+	private Journal openJournal(String name) throws IOException {
+		if (journal != null && !name.equals(journalName)) {
+			journal.close();
+			journal = null;
+		}
+		if (journal == null) {
+			journal = new Journal(Main.journalPath(name), Journal.Sync.getDefault());
+			journalName = name;
+		}
+		return journal;
+	}
+
+	//delete snapshot and journal of the game
+	private void deleteFiles(String name) throws IOException {
+		if (name.equals(journalName)) {
+			journal.close();
+			journal = null;
+			journalName = null;
+		}
+		fileManager.deleteFile(name);
+		File file = Main.journalPath(name).toFile();
+		if (file.exists() && !file.delete()) {
+			file.deleteOnExit();
+		}
+	}
+}
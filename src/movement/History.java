@@ -2,16 +2,40 @@ package movement;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import board.Board;
+import board.MoveGenerator;
 
 public class History implements Serializable {
 	private static final long serialVersionUID = 4330780535694372412L;
 	
+	/*
+	 * goTo() keeps checkpoints: copies of the board after every INTERVAL rounds it passes;
+	 * a jump starts from the nearest checkpoint before the round if that is closer than the current one,
+	 * so it replays at most INTERVAL rounds after the checkpoints exist
+	 * 
+	 * at most CHECKPOINTS are kept: when there are more, the interval is doubled and every other one dropped
+	 * checkpoints are not saved, they are created again by the next goTo()
+	 */
+	
+	public static final int INTERVAL = Math.max(1, Integer.getInteger("chess.history.interval", 8));			//rounds
+	public static final int CHECKPOINTS = Math.max(1, Integer.getInteger("chess.history.checkpoints", 64));	//at most
+	
 	private ArrayList<Round> log;							//list of rounds executed
 	private ArrayList<ActionListener> actionListeners;		//observer list
 	private transient int motionCounter;					//index of current round
 	private MoveCommand temp;								//first move of the current (unfinished) round
+	private transient boolean tempExecuted;					//is temp executed on the board?
+	private transient TreeMap<Integer, Board> checkpoints;	//board after a number of rounds
+	private transient int interval;							//rounds between checkpoints
+	private transient int[] moves;							//buffer for finding the moves of the log
 
 	public History() {
 		log = new ArrayList<Round>();
@@ -28,23 +52,96 @@ public class History implements Serializable {
 		
 		if (temp == null) {
 			temp = movementPossibility;
+			tempExecuted = true;
 		} else {
 			Round round = new Round(motionCounter, temp, movementPossibility);
 			log.add(round);
 			temp = null;
+			tempExecuted = false;
 			motionCounter++;
 			actionPerformed(null);
 		}
 	}
 	
-	//reenacts log to a given index
-	public void goTo(int round) {
+	/*
+	 * brings the board to the position after a given round
+	 * rounds are taken back or reenacted one by one, starting at the board's current round
+	 */
+	public void goTo(Board board, int round) {
 		if (round >= log.size() || round < 0) {
 			round = log.size() - 1;
 		}
 		
-		for (int i = 0; i <= round; i++) {
-			log.get(i).execute();
+		if (tempExecuted) {
+			temp.undo(board);
+			tempExecuted = false;
+		}
+		Map.Entry<Integer, Board> checkpoint = getCheckpoints().floorEntry(round + 1);
+		if (checkpoint != null && round + 1 - checkpoint.getKey() < Math.abs(round + 1 - motionCounter)) {
+			board.copy(checkpoint.getValue());
+			motionCounter = checkpoint.getKey();
+		}
+		while (motionCounter > round + 1) {
+			log.get(--motionCounter).undo(board);
+		}
+		if (moves == null) {
+			moves = new int[MoveGenerator.MAX_MOVES];
+		}
+		while (motionCounter < round + 1) {
+			log.get(motionCounter).execute(board);
+			motionCounter++;
+			remember(board);
+		}
+		if (motionCounter == log.size() && temp != null) {
+			temp.execute(board, moves);		//unfinished round
+			tempExecuted = true;
+		}
+	}
+	
+	//keep a checkpoint of the board if it is due
+	private void remember(Board board) {
+		if (motionCounter % interval != 0 || checkpoints.containsKey(motionCounter)) return;
+		
+		checkpoints.put(motionCounter, new Board(board));
+		if (checkpoints.size() > CHECKPOINTS) {
+			interval *= 2;
+			Iterator<Integer> rounds = checkpoints.keySet().iterator();
+			while (rounds.hasNext()) {
+				if (rounds.next() % interval != 0) rounds.remove();
+			}
+		}
+	}
+	
+	//checkpoints, created after loading
+	private TreeMap<Integer, Board> getCheckpoints() {
+		if (checkpoints == null) {
+			checkpoints = new TreeMap<Integer, Board>();
+			interval = INTERVAL;
+		}
+		return checkpoints;
+	}
+	
+	//delete checkpoints after more rounds, the rounds changed
+	private void forget(int rounds) {
+		getCheckpoints().tailMap(rounds, false).clear();
+	}
+	
+	//read saved history, moves of old saves are completed (see MoveCommand.upgrade())
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		
+		ArrayList<MoveCommand> moves = getMoves();
+		boolean legacy = false;
+		for (MoveCommand move : moves) {
+			legacy |= move.isLegacy();
+		}
+		if (!legacy) return;
+		
+		moves = MoveCommand.upgrade(moves);
+		log = new ArrayList<Round>();
+		temp = null;
+		for (int ply = 0; ply < moves.size(); ply++) {
+			restore(ply, moves.get(ply));
 		}
 	}
 	
@@ -58,11 +155,74 @@ public class History implements Serializable {
 		return log.size();
 	}
 	
+	//returns all moves of the log in order, with the first move of an unfinished round
+	public ArrayList<MoveCommand> getMoves() {
+		ArrayList<MoveCommand> moves = new ArrayList<MoveCommand>();
+		for (Round round : log) {
+			moves.add(round.whiteMove);
+			moves.add(round.blackMove);
+		}
+		if (temp != null) {
+			moves.add(temp);
+		}
+		return moves;
+	}
+	
+	//returns number of moves in the log
+	public int getPlies() {
+		return log.size() * 2 + (temp != null? 1 : 0);
+	}
+	
+	//returns the move of a ply (counted from 0), null if there is none
+	public MoveCommand getMove(int ply) {
+		if (ply < 0 || ply >= getPlies()) {
+			return null;
+		}
+		if (ply / 2 == log.size()) {
+			return temp;
+		}
+		Round round = log.get(ply / 2);
+		return ply % 2 == 0? round.whiteMove : round.blackMove;
+	}
+	
+	//returns the last move of the log, null if empty
+	public MoveCommand getLastMove() {
+		if (temp != null) {
+			return temp;
+		}
+		return log.isEmpty()? null : log.get(log.size() - 1).blackMove;
+	}
+	
+	/*
+	 * sets the move of a ply (counted from 0), the moves behind it are deleted
+	 * only for restoring a saved history, before it is brought to a board by goTo()
+	 */
+	public void restore(int ply, MoveCommand move) {
+		if (ply < 0 || ply > getPlies()) {
+			throw new IllegalArgumentException("ply " + ply + " of " + getPlies());
+		}
+		MoveCommand whiteMove = ply % 2 == 1? (ply / 2 < log.size()? log.get(ply / 2).whiteMove : temp) : null;
+		while (log.size() > ply / 2) {
+			log.remove(log.size() - 1);
+		}
+		forget(ply / 2);
+		if (whiteMove == null) {
+			temp = move;
+		} else {
+			log.add(new Round(ply / 2, whiteMove, move));
+			temp = null;
+		}
+	}
+	
 	//deletes all not-executed rounds contained in the log
 	private void clearUndone() {
+		if (motionCounter < log.size()) {
+			temp = null;
+		}
 		while (motionCounter < log.size()) {
 			log.remove(log.size() - 1);
 		}
+		forget(motionCounter);
 		actionPerformed(null);
 	}
 	
@@ -101,9 +261,20 @@ public class History implements Serializable {
 		}
 		
 		//reenacts this round
-		private void execute() {
-			whiteMove.execute();
-			blackMove.execute();
+		private void execute(Board board) {
+			whiteMove.execute(board, moves);
+			try {
+				blackMove.execute(board, moves);
+			} catch (IllegalStateException e) {
+				whiteMove.undo(board);
+				throw e;
+			}
+		}
+		
+		//takes back this round
+		private void undo(Board board) {
+			blackMove.undo(board);
+			whiteMove.undo(board);
 		}
 		
 		//returns the chess code of this round, that is visible for users
@@ -1,10 +1,17 @@
 package movement;
 
+import java.io.InvalidObjectException;
 import java.io.Serializable;
+import java.util.ArrayList;
 
+import board.Bitboard;
+import board.Board;
+import board.Move;
+import board.MoveGenerator;
+import gui.GUI;
 import main.Game;
-import movement.MovementPossibility.*;
-import navigation.Grid;
+import piece.Piece;
+import player.Player;
 
 public class MoveCommand implements Serializable{
 	private static final long serialVersionUID = 1394144867938863356L;
@@ -12,85 +19,206 @@ public class MoveCommand implements Serializable{
 	/*
 	 * this is an easy serializable class that contains all information needed to execute a move
 	 * information is saved by definite String codes
+	 * en passant and castling are recognized by the Board itself
+	 *
+	 * saves made before the Board existed lack the start square and the promotion (see upgrade())
 	 */
 
 	//executes a MovementPossibility and hands created MoveCommand to history
 	public static void execute(MovementPossibility move) {
-		MoveCommand command;
-		switch(move.getType()) {
-		case EnPassant:		command = new EnPassantCommand((EnPassantPossibility) move);
-							break;
-		case Castling:		command = new CastlingCommand((CastlingPossibility) move);
-							break;
-		default:			command = new MoveCommand(move);
-		}
-		command.execute();
+		execute(move, promotes(move)? GUI.selectPromotion().ordinal() : Board.EMPTY);
+	}
+	
+	//executes a MovementPossibility with the piece type a Pawn becomes already chosen (Board.EMPTY if none)
+	public static void execute(MovementPossibility move, int promotion) {
+		MoveCommand command = new MoveCommand(move, promotion);
+		command.make(Game.getBoard(), Game.findMove(Bitboard.square(command.originCode), Bitboard.square(command.targetCode), promotion));
 		Game.getHistory().expand(command);
 		Game.nextMove();
 	}
 
-	protected final String pieceCode, targetCode;	//codes for piece and target
+	protected final String pieceCode, originCode, targetCode;	//codes for piece, start and target
+	protected final int promotion;								//piece type a Pawn becomes or Board.EMPTY
+	private transient int move;									//executed Move, needed to undo it
+	
+	//Constructor
+	private MoveCommand(MovementPossibility move, int promotion) {
+		this(move.piece.code, move.piece.getPosition().code, move.target.code, promotion);
+	}
 	
 	//Constructor
-	private MoveCommand(MovementPossibility move) {
-		pieceCode = move.piece.code;
-		targetCode = move.target.code;
+	private MoveCommand(String pieceCode, String originCode, String targetCode, int promotion) {
+		this.pieceCode = pieceCode;
+		this.originCode = originCode;
+		this.targetCode = targetCode;
+		this.promotion = promotion;
+	}
+	
+	//recreate a stored move, squares as on the Board
+	public static MoveCommand restore(String pieceCode, int origin, int target, int promotion) {
+		return new MoveCommand(pieceCode, Bitboard.code(origin), Bitboard.code(target), promotion);
+	}
+	
+	//move piece to target, the move must be legal on the board; moves is a buffer of MoveGenerator.MAX_MOVES ints
+	public void execute(Board board, int[] moves) {
+		make(board, find(board, moves));
+	}
+	
+	//make the Move found for this command, which is Move.NONE if it is illegal
+	private void make(Board board, int found) {
+		if (found == Move.NONE) {
+			throw new IllegalStateException("illegal move " + pieceCode + " " + originCode + "-" + targetCode + " in this position");
+		}
+		move = found;
+		board.make(move);
+	}
+	
+	//Move of this command in the board's position, Move.NONE if it is illegal there; moves is a buffer of MoveGenerator.MAX_MOVES ints
+	public int find(Board board, int[] moves) {
+		return MoveGenerator.find(board, Bitboard.square(originCode), Bitboard.square(targetCode), promotion, moves);
+	}
+	
+	//take back this move, must be the last one executed on the board
+	public void undo(Board board) {
+		board.unmake(move);
+	}
+	
+	//recreate a stored move of the board's position, the piece code is taken from the piece on the start square
+	public static MoveCommand restore(Board board, int origin, int target, int promotion) {
+		int piece = board.getPiece(origin);
+		String pieceCode = piece == Board.EMPTY? "" : "" + Player.get(Board.sideOf(piece)).initial()
+				+ Piece.Type.values()[Board.typeOf(piece)].initial() + Character.toUpperCase(Bitboard.code(origin).charAt(0));
+		return restore(pieceCode, origin, target, promotion);
+	}
+	
+	/*
+	 * complete the moves of a saved game, in order from the starting formation
+	 * old moves name the piece by its code of then (color, type and the file it started on, kept by a promoted Pawn)
+	 * and the target only, so the start square is found by following the codes through the game;
+	 * the promotion wasn't saved, a Pawn becomes a Queen
+	 */
+	static ArrayList<MoveCommand> upgrade(ArrayList<MoveCommand> moves) throws InvalidObjectException {
+		Board board = new Board();
+		String[] codes = new String[64];		//old code of the piece per square
+		for (int square = 0; square < 64; square++) {
+			int piece = board.getPiece(square);
+			if (piece != Board.EMPTY) {
+				codes[square] = "" + Player.get(Board.sideOf(piece)).initial() + Piece.Type.values()[Board.typeOf(piece)].initial()
+						+ Character.toUpperCase(Bitboard.code(square).charAt(0));
+			}
+		}
+
+		ArrayList<MoveCommand> upgraded = new ArrayList<MoveCommand>();
+		int[] buffer = new int[MoveGenerator.MAX_MOVES];
+		for (int ply = 0; ply < moves.size(); ply++) {
+			MoveCommand command = moves.get(ply);
+			int move = Move.NONE;
+			if (command.originCode != null) {
+				move = command.find(board, buffer);
+			} else if (command.pieceCode != null && command.targetCode != null) {
+				for (int square = 0; square < 64 && move == Move.NONE; square++) {
+					if (command.pieceCode.equals(codes[square]) && Board.sideOf(board.getPiece(square)) == board.getSide()) {
+						move = MoveGenerator.find(board, square, Bitboard.square(command.targetCode), Board.EMPTY, buffer);
+					}
+				}
+			}
+			if (move == Move.NONE) {
+				throw new InvalidObjectException("illegal move " + (ply + 1) + " in saved game");
+			}
+
+			int from = Move.getFrom(move), target = Move.getTarget(move);
+			upgraded.add(command.originCode != null? command : restore(board, from, target, Move.getPromotion(move)));
+			if (Move.isEnPassant(move)) {
+				codes[target + (board.getSide() == Board.WHITE? -8 : 8)] = null;
+			}
+			if (Move.isCastling(move)) {
+				boolean isShort = Move.getFlag(move) == Move.SHORT_CASTLING;
+				codes[isShort? target - 1 : target + 1] = codes[isShort? target + 1 : target - 2];
+				codes[isShort? target + 1 : target - 2] = null;
+			}
+			codes[target] = codes[from];
+			codes[from] = null;
+			board.make(move);
+		}
+		return upgraded;
+	}
+	
+	//is this a move of a save made before the Board existed?
+	boolean isLegacy() {
+		return originCode == null;
+	}
+	
+	//getter
+	public String getPieceCode() {
+		return pieceCode;
+	}
+	
+	//getter, square as on the Board
+	public int getOrigin() {
+		return Bitboard.square(originCode);
 	}
 	
-	//move piece to target
-	public void execute() {
-		Game.getPiece(pieceCode).moveTo(Grid.getPosition(targetCode));
+	//getter, square as on the Board
+	public int getTarget() {
+		return Bitboard.square(targetCode);
+	}
+	
+	//getter
+	public int getPromotion() {
+		return promotion;
 	}
 	
 	//getter (only displayed name of move)
 	public String getString() {
+		if (isCastling()) {
+			return targetCode.charAt(0) == 'g'? "O-O" : "O-O-O";
+		}
 		return pieceCode.charAt(0) + targetCode;
 	}
 	
+	//is King jumping two files?
+	private boolean isCastling() {
+		return pieceCode.charAt(1) == Piece.Type.King.initial() && Math.abs(originCode.charAt(0) - targetCode.charAt(0)) == 2;
+	}
+	
+	//user must select promotion when a Pawn reaches the last row
+	private static boolean promotes(MovementPossibility move) {
+		return move.piece.type == Piece.Type.Pawn && (move.target.y == 0 || move.target.y == 7);
+	}
+	
 	/*
-	 * specialized subclass for Pawn's en passant
+	 * en passant was a subclass of its own in old saves, it is read as a plain MoveCommand to upgrade
+	 * the piece taken is found by the Board now
 	 */
-	public static class EnPassantCommand extends MoveCommand {
+	private static class EnPassantCommand extends MoveCommand {
 		private static final long serialVersionUID = 7499164431559798660L;
 		
-		private final String victimCode;	//must kill a piece
-		
-		//Constructor
-		private EnPassantCommand(EnPassantPossibility move) {
-			super(move);
-			victimCode = move.getContact().code;
+		//Constructor, never called, instances are only read
+		private EnPassantCommand() {
+			super(null, null, null, Board.EMPTY);
 		}
 		
-		@Override
-		public void execute() {
-			super.execute();
-			Game.getPiece(victimCode).die();
+		//replace by plain MoveCommand when read
+		private Object readResolve() {
+			return new MoveCommand(pieceCode, null, targetCode, Board.EMPTY);
 		}
 	}
 	
 	/*
-	 * specialized subclass for King's castling
+	 * castling was a subclass of its own in old saves, it is read as a plain MoveCommand to upgrade
+	 * the Rook moved is found by the Board now
 	 */
-	public static class CastlingCommand extends MoveCommand {
+	private static class CastlingCommand extends MoveCommand {
 		private static final long serialVersionUID = 1892151788358446987L;
 		
-		private final String rookCode, rookTargetCode;	//rook must be moved too
-		
-		private CastlingCommand(CastlingPossibility move) {
-			super(move);
-			rookCode = move.rook.code;
-			rookTargetCode = move.rookTarget.code;
-		}
-		
-		@Override
-		public void execute() {
-			super.execute();
-			Game.getPiece(rookCode).moveTo(Grid.getPosition(rookTargetCode));
+		//Constructor, never called, instances are only read
+		private CastlingCommand() {
+			super(null, null, null, Board.EMPTY);
 		}
 		
-		@Override
-		public String getString() {
-			return "O-O";
+		//replace by plain MoveCommand when read
+		private Object readResolve() {
+			return new MoveCommand(pieceCode, null, targetCode, Board.EMPTY);
 		}
 	}
 }
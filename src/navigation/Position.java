@@ -1,8 +1,5 @@
 package navigation;
 
-import java.util.ArrayList;
-
-import movement.MovementPossibility;
 import piece.Piece;
 import player.Player;
 
@@ -15,7 +12,6 @@ public class Position {
 	
 	public final int x, y;											//coordinates
 	public final String code;										//identification code
-	private final ArrayList<MovementPossibility> incomingMoves;		//MovementPossibilities comig to this position
 	private Piece piece;											//piece standing on this position
 	
 	//Constructor
@@ -23,13 +19,11 @@ public class Position {
 		this.x = x;
 		this.y = y;
 		code = getCode(x, y);
-		incomingMoves = new ArrayList<MovementPossibility>();
 	}
 	
 	//delete old information
 	public void reset() {
 		piece = null;
-		incomingMoves.clear();
 	}
 	
 	//is occupied?
@@ -52,20 +46,6 @@ public class Position {
 		this.piece = piece;
 	}
 	
-	//how dangerous is this position for given piece?
-	public int getThreatFor(Piece piece) {
-		int threat = 0;
-		for (MovementPossibility m : incomingMoves) {
-			threat += m.getThreatFor(piece);
-		}
-		return threat;
-	}
-	
-	//add incoming MovementPossibility
-	public void addIncomingMove(MovementPossibility movementPossibility) {
-		incomingMoves.add(movementPossibility);
-	}
-	
 	//get relative position
 	public Position getNeighbor(Direction direction) {
 		return relativePosition(direction, 1);
@@ -2,7 +2,7 @@ package piece;
 
 import java.util.ArrayList;
 
-import movement.MovementScanner;
+import board.PieceSquareTable;
 import movement.MovementPossibility;
 import navigation.*;
 import player.Player;
@@ -12,18 +12,21 @@ public abstract class Piece {
 	
 	/*
 	 * pieces are also called chessmen
+	 * they display the Board's pieces, their legal moves are handed over by the Player
 	 */
 	
 	/*
 	 * the piece's type is used for identification
 	 */
 	public static enum Type {
-		King,
-		Queen,
-		Rook,
-		Knight,
-		Bishop,
-		Pawn;
+		King, Queen, Rook, Knight, Bishop, Pawn;		//in the order of the Board's piece types
+		
+		public final int value;		//material in hundredths of a Pawn, the King is never traded
+		
+		//Constructor, the value is the Board's (see PieceSquareTable)
+		Type() {
+			value = PieceSquareTable.material(ordinal());
+		}
 		
 		//get name initial
 		public char initial() {
@@ -39,11 +42,10 @@ public abstract class Piece {
 	public final Type type;											//type of piece
 	public final String code;										//identification code
 	public final Player player;										//owner of this piece
-	protected final ArrayList<MovementScanner> movementScanners;	//kinds of movements executable
+	private final ArrayList<MovementPossibility> legalMoves;		//movements executable
 	protected int defaultValue;										//for automatic player
 	protected int value;											//for automatic player
 	protected Position position;									//current position
-	protected ArrayList<Position> forcedTargets;					//only able to move to one of those targets
 	
 	//Constructor
 	protected Piece(Player player,Type type, Position position, String code) {
@@ -51,49 +53,20 @@ public abstract class Piece {
 		this.type = type;
 		this.position = position;
 		this.code = code;
-		movementScanners = new ArrayList<MovementScanner>();
-		
-		initMovement();
+		legalMoves = new ArrayList<MovementPossibility>();
+		defaultValue = type.value;
+		value = defaultValue;
 	}
-	
-	//different kinds of movement abilities are initialized in subclasses
-	protected abstract void initMovement();
 
 	//delete old information
 	public void prepareCalculation() {
-		forcedTargets = null;
-		for (MovementScanner l : movementScanners) {
-			l.clean();
-		}
+		legalMoves.clear();
 		position.setPiece(this);
 	}
 	
-	//scan possible movements
-	public void calculate() {
-		for (MovementScanner l : movementScanners) {
-			l.scan();
-		}
-	}
-	
-	//validate possible movements
-	public boolean validateCalculation() {
-		for (MovementScanner l : movementScanners) {
-			if (!l.validate()) {
-				return false;
-			}
-		}
-		if (filterMoves()) return false;
-		return true;
-	}
-	
-	//change position, perhaps kill piece
-	public void moveTo(Position target) {
-		if (target != null) {
-			if (target.hasPiece()) {
-				target.getPiece().die();
-			}
-			position = target;
-		}
+	//register legal movement
+	public void addLegalMove(MovementPossibility movementPossibility) {
+		legalMoves.add(movementPossibility);
 	}
 	
 	//getter
@@ -110,22 +83,12 @@ public abstract class Piece {
 	public Position getPosition() {
 		return position;
 	}
-	
-	//dissapear from game
-	public void die() {
-		player.losePiece(this);
-	}
 
 	//is owned by the same player?
 	public boolean hasSameColor(Piece piece) {
 		return piece.player == player;
 	}
 	
-	//delete movement ability
-	public void removeScanner(MovementScanner movementScanner) {
-		movementScanners.remove(movementScanner);
-	}
-	
 	//how dangerous is this piece for the targeted one?
 	public int getThreatFor(Piece victim) {
 		if (victim != null && !hasSameColor(victim)) {
@@ -142,9 +105,14 @@ public abstract class Piece {
 		return value;
 	}
 
+	//getter
+	public int getDefaultValue() {
+		return defaultValue;
+	}
+
 	//getter
 	public MovementPossibility getMoveTo(Position target) {
-		for (MovementPossibility m : getLegalMoves()) {
+		for (MovementPossibility m : legalMoves) {
 			if (m.target == target) {
 				return m;
 			}
@@ -159,16 +127,6 @@ public abstract class Piece {
 
 	//getter
 	public ArrayList<MovementPossibility> getLegalMoves() {
-		
-		ArrayList<MovementPossibility> legalMoves = new ArrayList<MovementPossibility>();
-		
-		for (MovementScanner l : movementScanners) {
-			for (MovementPossibility m : l.getMoves()) {
-				if (m.isLegal()) {
-					legalMoves.add(m);
-				}
-			}
-		}
 		return legalMoves;
 	}
 	
@@ -181,38 +139,10 @@ public abstract class Piece {
 	public Player opponentPlayer() {
 		return player.opponent();
 	}
-	
-	//this piece is only allowed to move to one of those targets
-	public void limitMovement(ArrayList<Position> safeTiles) {
-		if (this.forcedTargets == null) {
-			this.forcedTargets = safeTiles;
-		} else {
-			for (Position c : this.forcedTargets) {
-				if (!safeTiles.contains(c)) {
-					this.forcedTargets.remove(c);
-				}
-			}
-		}
-	}
-	
-	//illegalize movement possibilities to illegal targets
-	protected boolean filterMoves() {
-		if (forcedTargets != null) {
-			for (MovementPossibility m : getLegalMoves()) {
-				
-				if (!forcedTargets.contains(m.target)) {
-					m.block();
-				}
-			}
-			forcedTargets = null;
-			return true;
-		}
-		return false;
-	}
 
 	//able to move anywhere?
 	public boolean hasLegalMovement() {
-		return getLegalMoves().size() > 0;
+		return legalMoves.size() > 0;
 	}
 	
 	//player is allowed to move?
@@ -0,0 +1,96 @@
+package player;
+
+public class Clock {
+
+	/*
+	 * chess clock of one Player, all times in milliseconds
+	 * the clock runs while its Player has to move; after each move the increment is added,
+	 * with moves-to-go the base time is added again whenever a period of that many moves is completed
+	 */
+
+	private final long base;			//time per period
+	private final long increment;		//time added per move
+	private final int movesToGo;		//moves per period, 0 for one period the whole game
+	private long remaining;				//time left, without the running move
+	private int movesLeft;				//moves left in the period
+	private long started;				//System.nanoTime() when the clock was started, -1 if stopped
+
+	//Constructor
+	public Clock(long base, long increment, int movesToGo) {
+		this.base = base;
+		this.increment = increment;
+		this.movesToGo = movesToGo;
+		remaining = base;
+		movesLeft = movesToGo;
+		started = -1;
+	}
+
+	//Constructor, for a saved clock with the time and moves left
+	public Clock(long base, long increment, int movesToGo, long remaining, int movesLeft) {
+		this(base, increment, movesToGo);
+		this.remaining = remaining;
+		if (movesToGo > 0 && movesLeft > 0) {
+			this.movesLeft = movesLeft;
+		}
+	}
+
+	//the Player has to move, a running clock keeps running
+	public synchronized void start() {
+		if (started < 0) {
+			started = System.nanoTime();
+		}
+	}
+
+	//the Player has moved
+	public synchronized void stop() {
+		if (started < 0) return;
+
+		pause();
+		if (remaining < 0) return;
+
+		remaining += increment;
+		if (movesToGo > 0 && --movesLeft == 0) {
+			remaining += base;
+			movesLeft = movesToGo;
+		}
+	}
+
+	//the game is interrupted without a move (e.g. a jump in the history), nothing is added
+	public synchronized void pause() {
+		if (started < 0) return;
+
+		remaining -= (System.nanoTime() - started) / 1000000;
+		started = -1;
+	}
+
+	//time left, the running move included
+	public synchronized long getRemaining() {
+		return started < 0? remaining : remaining - (System.nanoTime() - started) / 1000000;
+	}
+
+	//is the time over?
+	public boolean isFlagged() {
+		return getRemaining() < 0;
+	}
+
+	//getter
+	public synchronized boolean isRunning() {
+		return started >= 0;
+	}
+
+	//getter
+	public long getIncrement() {
+		return increment;
+	}
+
+	//moves until the next period, 0 if there is none
+	public synchronized int getMovesToGo() {
+		return movesToGo > 0? movesLeft : 0;
+	}
+
+	//displayed time left, e.g. 4:59
+	public String getString() {
+		long seconds = Math.max(0, getRemaining()) / 1000;
+		return seconds / 60 + ":" + (seconds % 60 < 10? "0" : "") + seconds % 60;
+	}
+}
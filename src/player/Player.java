@@ -2,52 +2,101 @@ package player;
 
 import java.util.ArrayList;
 
+import board.Bitboard;
+import board.Board;
+import board.Move;
 import controller.Controller;
 import main.Game;
+import movement.MovementPossibility;
 import navigation.Grid;
+import navigation.Position;
 import piece.*;
 
 public enum Player {
-	White(1,0), Black(6,7);		//only two players and two colors
+	White, Black;		//only two players and two colors
+	
+	//get player by side index of a Board
+	public static Player get(int side) {
+		return values()[side];
+	}
 	
-	private final int pawnColumn, rearColumn;	//position coordinates for start piece formation
 	private Controller controller;				//Controller is able to execute moves
+	private Clock clock;						//time left, null in games without clock
 	private final ArrayList<Piece> pieces;		//pieces owned by this player
-	private final ArrayList<Piece> graveyard;	//died pieces owned by this player
 	
 	//Constructor
-	Player(int pawnColumn, int rearColumn) {
-		this.pawnColumn = pawnColumn;
-		this.rearColumn = rearColumn;
+	Player() {
 		pieces = new ArrayList<Piece>();
-		graveyard = new ArrayList<Piece>();
 	}
 	
-	//set up starting piece formation
+	//activate player with a clock
+	public void init(Controller controller, Clock clock) {
+		init(controller);
+		this.clock = clock;
+	}
+	
+	//activate player
 	public void init(Controller controller) {
+		if (this.controller != null) {
+			this.controller.dispose();
+		}
 		this.controller = controller;
+		clock = null;
 		
 		pieces.clear();
-		graveyard.clear();
-		
-		pieces.add(new Rook		(this, Grid.getPosition(0, rearColumn), 'A'));
-		pieces.add(new Knight	(this, Grid.getPosition(1, rearColumn), 'B'));
-		pieces.add(new Bishop	(this, Grid.getPosition(2, rearColumn), 'C'));
-		pieces.add(new Queen	(this, Grid.getPosition(3, rearColumn), 'D'));
-		pieces.add(new King		(this, Grid.getPosition(4, rearColumn), 'E'));
-		pieces.add(new Bishop	(this, Grid.getPosition(5, rearColumn), 'F'));
-		pieces.add(new Knight	(this, Grid.getPosition(6, rearColumn), 'G'));
-		pieces.add(new Rook		(this, Grid.getPosition(7, rearColumn), 'H'));
-		pieces.add(new Pawn		(this, Grid.getPosition(0, pawnColumn), 'A'));
-		pieces.add(new Pawn		(this, Grid.getPosition(1, pawnColumn), 'B'));
-		pieces.add(new Pawn		(this, Grid.getPosition(2, pawnColumn), 'C'));
-		pieces.add(new Pawn		(this, Grid.getPosition(3, pawnColumn), 'D'));
-		pieces.add(new Pawn		(this, Grid.getPosition(4, pawnColumn), 'E'));
-		pieces.add(new Pawn		(this, Grid.getPosition(5, pawnColumn), 'F'));
-		pieces.add(new Pawn		(this, Grid.getPosition(6, pawnColumn), 'G'));
-		pieces.add(new Pawn		(this, Grid.getPosition(7, pawnColumn), 'H'));
+	}
+	
+	//build pieces displaying this player's part of the Board
+	public void load(Board board) {
+		pieces.clear();
 		
-		getKing().initCastling();		//for initializing castling the player's pieces must be initialized first
+		for (Piece.Type type : Piece.Type.values()) {
+			long set = board.getPieces(ordinal(), type.ordinal());
+			while (set != 0) {
+				int square = Bitboard.first(set);
+				set &= set - 1;
+				pieces.add(createPiece(type, getPosition(square)));
+			}
+		}
+	}
+	
+	//hand legal moves of the Board over to the pieces, promotions are selected later, so only one per target
+	public void distribute(int[] moves, int size) {
+		for (int i = 0; i < size; i++) {
+			int move = moves[i];
+			if (Move.isPromotion(move) && Move.getPromotion(move) != Board.QUEEN) continue;
+			
+			Piece piece = getPieceAt(getPosition(Move.getFrom(move)));
+			piece.addLegalMove(new MovementPossibility(piece, getPosition(Move.getTarget(move)), move));
+		}
+	}
+	
+	//get Position of a Board square
+	private static Position getPosition(int square) {
+		return Grid.getPosition(Bitboard.getX(square), Bitboard.getY(square));
+	}
+	
+	//create piece of given type
+	private Piece createPiece(Piece.Type type, Position position) {
+		char rowInitial = Character.toUpperCase(position.code.charAt(0));
+		switch(type) {
+		case King:			return new King(this, position, rowInitial);
+		case Queen:			return new Queen(this, position, rowInitial);
+		case Rook:			return new Rook(this, position, rowInitial);
+		case Knight:		return new Knight(this, position, rowInitial);
+		case Bishop:		return new Bishop(this, position, rowInitial);
+		default:			return new Pawn(this, position, rowInitial);
+		}
+	}
+	
+	//getter
+	public Clock getClock() {
+		return clock;
+	}
+	
+	//getter
+	public boolean hasClock() {
+		return clock != null;
 	}
 	
 	//get other player
@@ -55,17 +104,16 @@ public enum Player {
 		return this == White? Black : White;
 	}
 	
-	//remove died piece from list
-	public void losePiece(Piece p) {
-		pieces.remove(p);
-		graveyard.add(p);
-	}
-	
 	//let controller execute a move
 	public void act() {
 		controller.act();
 	}
 	
+	//take back the permission to move, e.g. after the time is over
+	public void halt() {
+		controller.setEnabled(false);
+	}
+	
 	//delete old information
 	public void prepareCalculation() {
 		for (Piece p : pieces) { 
@@ -73,32 +121,14 @@ public enum Player {
 		}
 	}
 	
-	//scan possible movements
-	public void calculate() {
-		for (Piece p : pieces) { 
-			p.calculate();
-		}
-	}
-	
-	//validate possible movements
-	public boolean validateCalculation() {
-		for (Piece p : pieces) { 
-			if (!p.validateCalculation()) return false;
-		}
-		return true;
-	}
-	
 	//getter
 	public King getKing() {
-		return (King) getPiece(initial() + "KE");
-	}
-	
-	//king currently offended?
-	public boolean isInCheck() {
-		if (getKing().getPosition().getThreatFor(getKing()) > 0) {
-			return true;
+		for (Piece p : pieces) {
+			if (p.type == Piece.Type.King) {
+				return (King) p;
+			}
 		}
-		return false;
+		return null;
 	}
 	
 	//able to move any piece?
@@ -124,9 +154,9 @@ public enum Player {
 	}
 
 	//getter
-	public Piece getPiece(String code) {
+	public Piece getPieceAt(Position position) {
 		for (Piece p : pieces) {
-			if (p.code.equals(code)) {
+			if (p.getPosition() == position) {
 				return p;
 			}
 		}
@@ -137,11 +167,6 @@ public enum Player {
 	public ArrayList<Piece> getPieces() {
 		return pieces;
 	}
-
-	//getter
-	public ArrayList<Piece> getGraveyrd() {
-		return graveyard;
-	}
 	
 	//get color initial
 	public char initial() {
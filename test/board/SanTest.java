@@ -0,0 +1,106 @@
+package board;
+
+import java.util.Random;
+
+public abstract class SanTest {
+
+	/*
+	 * writes every legal move of positions from random games as SAN, with the disambiguation a PGN writer would use,
+	 * and checks that San.parse() finds the same move again, also with check signs and promotions without '='
+	 * then replays a known game move by move and checks that an ambiguous move is rejected
+	 *
+	 * run from the project directory with the compiled sources on the class path:
+	 * javac -cp <classes> -d <out> test/board/SanTest.java
+	 * java -cp <classes>:<out> board.SanTest
+	 */
+
+	private static final String PIECES = "KQRNBP";
+	private static final String[] STARTS = {		//positions the random games start from, with castling and promotions close
+		"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+		"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+		"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+		"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8"
+	};
+	private static final String[] GAME = {			//Morphy against Duke Karl and Count Isouard, Paris 1858
+		"e4", "e5", "Nf3", "d6", "d4", "Bg4", "dxe5", "Bxf3", "Qxf3", "dxe5", "Bc4", "Nf6", "Qb3", "Qe7",
+		"Nc3", "c6", "Bg5", "b5", "Nxb5", "cxb5", "Bxb5+", "Nbd7", "O-O-O", "Rd8", "Rxd7", "Rxd7", "Rd1", "Qe6",
+		"Bxd7+", "Nxd7", "Qb8+", "Nxb8", "Rd8#"
+	};
+
+	//Constructor
+	public static void main(String[] args) {
+		Random random = new Random(1);
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		int[] buffer = new int[MoveGenerator.MAX_MOVES];
+		int checked = 0;
+		for (int game = 0; game < 200; game++) {
+			Board board = new Board(STARTS[game % STARTS.length]);
+			for (int ply = 0; ply < 120; ply++) {
+				int size = MoveGenerator.generateLegal(board, moves, 0);
+				if (size == 0) break;
+				for (int i = 0; i < size; i++) {
+					String san = write(board, moves[i], moves, size);
+					check(San.parse(board, san, buffer) == moves[i], san + " is read back in " + game + "/" + ply);
+					check(San.parse(board, san + "+", buffer) == moves[i], san + "+ is read back");
+					if (Move.isPromotion(moves[i])) {
+						String plain = san.replace("=", "");
+						check(San.parse(board, plain, buffer) == moves[i], plain + " is read back");
+					}
+					checked++;
+				}
+				board.make(moves[random.nextInt(size)]);
+			}
+		}
+
+		Board board = new Board();
+		for (int i = 0; i < GAME.length; i++) {
+			if (GAME[i].equals("Nbd7")) {
+				check(San.parse(board, "Nd7", buffer) == Move.NONE, "Nd7 is ambiguous");
+			}
+			int move = San.parse(board, GAME[i], buffer);
+			check(move != Move.NONE, GAME[i] + " is found");
+			board.make(move);
+		}
+		check(board.isInCheck(board.getSide()) && MoveGenerator.generateLegal(board, moves, 0) == 0, "the game ends in mate");
+		check(San.parse(board, "Ke7", buffer) == Move.NONE, "no move after mate");
+		check(San.parse(new Board(), "e5", buffer) == Move.NONE, "illegal moves are rejected");
+		check(San.parse(new Board(), "Zf3", buffer) == Move.NONE, "unknown pieces are rejected");
+		System.out.println("SanTest passed (" + checked + " moves)");
+	}
+
+	//SAN of a legal move, disambiguated against the other legal moves of the position
+	private static String write(Board board, int move, int[] moves, int size) {
+		if (Move.getFlag(move) == Move.SHORT_CASTLING) return "O-O";
+		if (Move.getFlag(move) == Move.LONG_CASTLING) return "O-O-O";
+
+		int type = Move.getType(move), from = Move.getFrom(move), target = Move.getTarget(move);
+		String code = Bitboard.code(from);
+		StringBuilder san = new StringBuilder();
+		if (type == Board.PAWN) {
+			if (Move.isCapture(move)) san.append(code.charAt(0));
+		} else {
+			san.append(PIECES.charAt(type));
+			boolean other = false, sameFile = false, sameRank = false;
+			for (int i = 0; i < size; i++) {
+				int from2 = Move.getFrom(moves[i]);
+				if (from2 == from || Move.getType(moves[i]) != type || Move.getTarget(moves[i]) != target) continue;
+				other = true;
+				sameFile |= Bitboard.getX(from2) == Bitboard.getX(from);
+				sameRank |= Bitboard.getY(from2) == Bitboard.getY(from);
+			}
+			if (other && (!sameFile || sameRank)) san.append(code.charAt(0));
+			if (other && sameFile) san.append(code.charAt(1));
+		}
+		if (Move.isCapture(move)) san.append('x');
+		san.append(Bitboard.code(target));
+		if (Move.isPromotion(move)) san.append('=').append(PIECES.charAt(Move.getPromotion(move)));
+		return san.toString();
+	}
+
+	//fail with the message unless the condition holds
+	private static void check(boolean condition, String message) {
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package main;
+
+import board.Board;
+import board.MoveStack;
+
+public abstract class PerftTest {
+
+	/*
+	 * counts the move paths of the standard test positions and compares them with the known numbers
+	 * (start position, Kiwipete and positions 3 to 6 of the common perft suite), which covers castling,
+	 * en passant, promotions, pins and checks of the move generator; depths are chosen to finish in seconds
+	 *
+	 * run from the project directory with the compiled sources on the class path:
+	 * javac -cp <classes> -d <out> test/main/PerftTest.java
+	 * java -cp <classes>:<out> main.PerftTest
+	 */
+
+	private static final String[] POSITIONS = {
+		"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+		"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+		"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+		"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+		"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+		"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"
+	};
+	private static final long[][] COUNTS = {		//per position from depth 1 on
+		{20, 400, 8902, 197281, 4865609},
+		{48, 2039, 97862, 4085603},
+		{14, 191, 2812, 43238, 674624},
+		{6, 264, 9467, 422333},
+		{44, 1486, 62379, 2103487},
+		{46, 2079, 89890, 3894594}
+	};
+
+	//Constructor
+	public static void main(String[] args) {
+		for (int i = 0; i < POSITIONS.length; i++) {
+			Board board = new Board(POSITIONS[i]);
+			long key = board.getKey();
+			for (int depth = 1; depth <= COUNTS[i].length; depth++) {
+				long nodes = Perft.count(board, new MoveStack(depth), depth, 0);
+				check(nodes == COUNTS[i][depth - 1], POSITIONS[i] + " depth " + depth + ": " + nodes + " instead of " + COUNTS[i][depth - 1]);
+			}
+			check(board.getKey() == key, "the position is restored after counting " + POSITIONS[i]);
+		}
+		System.out.println("PerftTest passed");
+	}
+
+	//fail with the message unless the condition holds
+	private static void check(boolean condition, String message) {
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}
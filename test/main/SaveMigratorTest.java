@@ -0,0 +1,59 @@
+package main;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import board.Bitboard;
+import board.Board;
+import movement.History;
+
+public abstract class SaveMigratorTest {
+
+	/*
+	 * converts test/data/Game No.1.ser, written by the first version of this program (before the Board existed):
+	 * 1. e4 a6 2. e5 d5 3. exd6 (en passant) Nf6 4. Nf3 exd6 5. Bc4 Be7 6. O-O O-O 7. d4
+	 * a damaged save next to it must be skipped without stopping the migration and renamed, so it isn't tried again
+	 *
+	 * run from the project directory with the compiled sources on the class path:
+	 * javac -cp <classes> -d <out> test/main/SaveMigratorTest.java
+	 * java -Djava.awt.headless=true -cp <classes>:<out> main.SaveMigratorTest
+	 */
+
+	//Constructor
+	public static void main(String[] args) throws Exception {
+		Path directory = Files.createTempDirectory("migration");
+		Files.copy(Paths.get("test/data/Game No.1.ser"), directory.resolve("Game No.1.ser"));
+		Files.write(directory.resolve("Game No.2.ser"), new byte[] {1, 2, 3});
+		String path = directory + "/";
+
+		GameFileManager target = new GameFileManager(path, Main.BASIC_NAME, true);
+		check(SaveMigrator.migrate(path, target, false) == 1, "the old game is converted, the damaged one skipped");
+		check(!target.exists("Game No.2"), "the damaged game is not converted");
+		check(Files.exists(directory.resolve("Game No.2.ser" + FileManager.DAMAGED)), "the damaged game is marked");
+		check(!Files.exists(directory.resolve("Game No.2.ser")), "the damaged game is not tried again");
+
+		History history = target.open("Game No.1").getHistory();
+		check(history.getPlies() == 13, "all moves are converted");
+		Board board = new Board();
+		history.goTo(board, -1);
+		check(board.getPiece(Bitboard.square("g1")) == Board.piece(Board.WHITE, Board.KING), "White castled");
+		check(board.getPiece(Bitboard.square("f1")) == Board.piece(Board.WHITE, Board.ROOK), "White's Rook moved");
+		check(board.getPiece(Bitboard.square("g8")) == Board.piece(Board.BLACK, Board.KING), "Black castled");
+		check(board.getPiece(Bitboard.square("f8")) == Board.piece(Board.BLACK, Board.ROOK), "Black's Rook moved");
+		check(board.getPiece(Bitboard.square("d5")) == Board.EMPTY, "the Pawn taken en passant is gone");
+		check(board.getPiece(Bitboard.square("d6")) == Board.piece(Board.BLACK, Board.PAWN), "Black took back on d6");
+		check(board.getPiece(Bitboard.square("d4")) == Board.piece(Board.WHITE, Board.PAWN), "the unfinished round is kept");
+		check(board.getSide() == Board.BLACK, "Black is to move");
+
+		check(SaveMigrator.migrate(path, target, false) == 0, "converted games are skipped");
+		System.out.println("SaveMigratorTest passed");
+	}
+
+	//fail with the message unless the condition holds
+	private static void check(boolean condition, String message) {
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}
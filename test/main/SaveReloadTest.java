@@ -0,0 +1,159 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Random;
+
+import board.Board;
+import board.Move;
+import board.MoveGenerator;
+import movement.History;
+import movement.MoveCommand;
+
+public abstract class SaveReloadTest {
+
+	/*
+	 * saves a random game with a clock as a snapshot of its first moves (GameFileManager) plus a Journal of the rest,
+	 * with a move taken back in between and an incomplete record at the end, and reloads it:
+	 * the moves and clocks must come back unchanged, a damaged snapshot and a journal of an older snapshot must be refused
+	 * then the reloaded History is brought to rounds in random order by goTo(), which starts from its checkpoints
+	 * where they are closer, and every position must equal the one reached by making the moves one by one
+	 *
+	 * run from the project directory with the compiled sources on the class path:
+	 * javac -cp <classes> -d <out> test/main/SaveReloadTest.java
+	 * java -Djava.awt.headless=true -cp <classes>:<out> main.SaveReloadTest
+	 */
+
+	private static final int PLIES = 151;		//odd, so the last round is unfinished
+	private static final int SNAPSHOT = 40;		//moves in the snapshot, the rest is journaled
+
+	//Constructor
+	public static void main(String[] args) throws Exception {
+		Random random = new Random(1);
+		ArrayList<Board> positions = new ArrayList<Board>();		//after each ply
+		ArrayList<MoveCommand> game = new ArrayList<MoveCommand>();
+		Board board = new Board();
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		positions.add(new Board(board));
+		while (game.size() < PLIES) {
+			int size = MoveGenerator.generateLegal(board, moves, 0);
+			if (size == 0) {
+				board = new Board();		//try another game
+				positions.subList(1, positions.size()).clear();
+				game.clear();
+				continue;
+			}
+			int move = moves[random.nextInt(size)];
+			game.add(MoveCommand.restore(board, Move.getFrom(move), Move.getTarget(move), Move.isPromotion(move)? Move.getPromotion(move) : Board.EMPTY));
+			board.make(move);
+			positions.add(new Board(board));
+		}
+
+		Path directory = Files.createTempDirectory("reload");
+		GameFileManager manager = new GameFileManager(directory + "/", Main.BASIC_NAME, true);
+		Game.Properties properties = new Game.Properties("Game No.1", Game.Mode.WhiteUser, 3, 300000, 2000, 40);
+		properties.restoreClocks(new long[] {123456, 98765}, new int[] {21, 20});
+		for (int ply = 0; ply < SNAPSHOT; ply++) {
+			properties.getHistory().restore(ply, game.get(ply));
+		}
+
+		byte[] data = manager.encode(properties);
+		Game.Properties decoded = manager.decode(data);
+		check(decoded.getName().equals("Game No.1") && decoded.getMode() == Game.Mode.WhiteUser, "name and mode are kept");
+		check(decoded.getChosenThreads() == 3, "the threads are kept");
+		check(decoded.getTime() == 300000 && decoded.getIncrement() == 2000 && decoded.getMovesToGo() == 40, "the time control is kept");
+		check(decoded.getRemaining()[0] == 123456 && decoded.getRemaining()[1] == 98765, "the time left is kept");
+		check(decoded.getMovesLeft()[0] == 21 && decoded.getMovesLeft()[1] == 20, "the moves left are kept");
+		checkMoves(decoded.getHistory(), game, SNAPSHOT);
+		data[data.length / 2] ^= 1;
+		check(fails(manager, data), "a damaged snapshot is refused");
+
+		manager.save(properties, "Game No.1");
+		Path path = directory.resolve("Game No.1" + Journal.EXTENSION);
+		Journal journal = new Journal(path, Journal.Sync.ALWAYS);
+		journal.clear(SNAPSHOT);
+		int records = 0;
+		for (int ply = SNAPSHOT; ply < PLIES; ply++) {
+			if (ply == PLIES - 2) {		//a move taken back and played again
+				journal.append(ply, game.get(ply + 1));
+				records++;
+			}
+			journal.append(ply, game.get(ply));
+			journal.appendClock(100000 - ply, 40 - ply / 2 % 40);
+			records++;
+		}
+		journal.appendClock(-5, 3);		//the time of the last mover is over
+		journal.close();
+		Files.write(path, new byte[] {0, 1, 2}, StandardOpenOption.APPEND);		//ended while writing
+
+		Game.Properties loaded = manager.read("Game No.1");
+		check(Journal.replay(path, loaded) == records, "all move records are replayed");
+		checkMoves(loaded.getHistory(), game, PLIES);
+		int last = (PLIES - 1) % 2;
+		check(loaded.getRemaining()[last] == -1 && loaded.getMovesLeft()[last] == 3, "the last clock record counts");
+		check(loaded.getRemaining()[1 - last] == 100000 - (PLIES - 2), "the other clock is the one after its last move");
+
+		Game.Properties older = manager.read("Game No.1");
+		journal = new Journal(path, Journal.Sync.NEVER);
+		journal.clear(SNAPSHOT - 2);
+		journal.append(SNAPSHOT - 2, game.get(SNAPSHOT - 2));
+		journal.close();
+		check(Journal.replay(path, older) == -1, "a journal of an older snapshot is ignored");
+		check(older.getHistory().getPlies() == SNAPSHOT, "the snapshot is kept");
+
+		History history = loaded.getHistory();
+		int rounds = history.getLogSize();
+		Board target = new Board();
+		for (int i = 0; i < 400; i++) {
+			int round = i % 50 == 49? -1 : random.nextInt(rounds);
+			history.goTo(target, round);
+			int ply = round < 0? PLIES : 2 * (round + 1) + (round == rounds - 1? PLIES % 2 : 0);
+			check(same(target, positions.get(ply)), "the position after round " + round + " is reached");
+		}
+		System.out.println("SaveReloadTest passed");
+	}
+
+	//check the history has the first plies of the game
+	private static void checkMoves(History history, ArrayList<MoveCommand> game, int plies) {
+		check(history.getPlies() == plies, history.getPlies() + " moves instead of " + plies);
+		for (int ply = 0; ply < plies; ply++) {
+			MoveCommand move = history.getMove(ply), expected = game.get(ply);
+			check(move.getOrigin() == expected.getOrigin() && move.getTarget() == expected.getTarget()
+					&& move.getPromotion() == expected.getPromotion() && move.getPieceCode().equals(expected.getPieceCode()), "move " + (ply + 1) + " is kept");
+		}
+	}
+
+	//does decoding the data fail?
+	private static boolean fails(GameFileManager manager, byte[] data) {
+		try {
+			manager.decode(data);
+			return false;
+		} catch (IOException e) {
+			return true;
+		}
+	}
+
+	//are both boards in the same position?
+	private static boolean same(Board a, Board b) {
+		if (a.getKey() != b.getKey() || a.getKey() != a.computeKey() || a.getSide() != b.getSide() || a.getEnPassant() != b.getEnPassant()) {
+			return false;
+		}
+		for (int square = 0; square < 64; square++) {
+			if (a.getPiece(square) != b.getPiece(square)) return false;
+		}
+		for (int right = Board.WHITE_SHORT; right <= Board.BLACK_LONG; right <<= 1) {
+			if (a.canCastle(right) != b.canCastle(right)) return false;
+		}
+		return a.getHalfmoveClock() == b.getHalfmoveClock();
+	}
+
+	//fail with the message unless the condition holds
+	private static void check(boolean condition, String message) {
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}